@@ -2,11 +2,8 @@ package Board;
 
 import Entities.Tile;
 import Game.AIPlayer;
-import Texture.TextureReader;
 import javax.media.opengl.GL;
 import javax.media.opengl.GLAutoDrawable;
-import javax.media.opengl.glu.GLU;
-import java.io.IOException;
 import java.util.List;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
@@ -15,9 +12,6 @@ public class AIGLListener extends BoardListener {
 
     private AIPlayer aiPlayer;
     private List<Tile> aiSolution;
-    String[] textureNames;
-    TextureReader.Texture[] textures;
-    int[] textureIds;
 
     public void init(GLAutoDrawable drawable) {
         GL gl = drawable.getGL();
@@ -31,17 +25,8 @@ public class AIGLListener extends BoardListener {
         gl.glEnable(GL.GL_BLEND);
 
         textureNames = new String[] { background + ".png", D1 + ".png" };
-        textures = new TextureReader.Texture[textureNames.length];
-        textureIds = new int[textureNames.length];
-        gl.glGenTextures(textureNames.length, textureIds, 0);
-
-        for (int i = 0; i < textureNames.length; i++) {
-            try {
-                textures[i] = TextureReader.readTexture(textureNames[i], true);
-                gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[i]);
-                new GLU().gluBuild2DMipmaps(GL.GL_TEXTURE_2D, GL.GL_RGBA, textures[i].getWidth(), textures[i].getHeight(), GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, textures[i].getPixels());
-            } catch (IOException e) { e.printStackTrace(); }
-        }
+        textureSizes = new int[][] { displaySize(drawable, 400, 600, 400, 400), displaySize(drawable, 400, 600, 50, 50) };
+        loadTextures(gl);
 
         aiPlayer = new AIPlayer();
         if (aiPlayer.solve()) {
@@ -2,14 +2,13 @@ package Board;
 
 import Game.GameManager;
 import Game.GameState;
+import Utils.AssetPreloader;
 import Utils.Sound;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.File;
-import javax.imageio.ImageIO;
 
 public class Board extends JFrame {
 
@@ -26,6 +25,12 @@ public class Board extends JFrame {
 
     public static void main(String[] args) {
         System.setProperty("sun.java2d.uiScale", "1.0");
+        try {
+            // Decode menus, sounds, sprites and textures in the background while the UI starts
+            AssetPreloader.shared().loadManifest(AssetPreloader.DEFAULT_MANIFEST);
+        } catch (Exception e) {
+            System.out.println("Error reading asset manifest: " + e.getMessage());
+        }
         new Board();
     }
 
@@ -39,8 +44,8 @@ public class Board extends JFrame {
         gameManager = new GameManager();
 
         try {
-            bgStartScreen = ImageIO.read(new File("src//Assets//Background//3.png"));
-            bgModeScreen = ImageIO.read(new File("src//Assets//Background//2.png"));
+            bgStartScreen = loadImage("src//Assets//Background//3.png");
+            bgModeScreen = loadImage("src//Assets//Background//2.png");
 
             iconPlay = resizeIcon("src//Assets//Buttons//play_btn.png", 200, 60);
             iconExit = resizeIcon("src//Assets//Buttons//exit_btn.png", 200, 60);
@@ -52,8 +57,8 @@ public class Board extends JFrame {
             iconTwoPlayers = resizeIcon("src//Assets//Buttons//twoP.png", 200, 60);
             iconPlayerVSAI  = resizeIcon("src//Assets//Buttons//VS.png", 200, 60);
 
-            iconPause = new ImageIcon("src//Assets//Buttons//pause_btn.png");
-            iconStart = new ImageIcon("src//Assets//Buttons//start_btn.png");
+            iconPause = new ImageIcon(loadImage("src//Assets//Buttons//pause_btn.png"));
+            iconStart = new ImageIcon(loadImage("src//Assets//Buttons//start_btn.png"));
 
             iconBack = resizeIcon("src//Assets//Buttons//Back_btn.png", 200, 60);
 
@@ -71,9 +76,20 @@ public class Board extends JFrame {
         setVisible(true);
     }
 
+    /**
+     * Image decoded by the preloader, waiting for it if it is not ready yet.
+     * The preloader lets go of it, so scaled buttons do not pin their full-size source.
+     */
+    private Image loadImage(String path) {
+        Image img = AssetPreloader.await(AssetPreloader.shared().takeImage(path));
+        if (img == null) {
+            throw new IllegalStateException("Missing image: " + path);
+        }
+        return img;
+    }
+
     private ImageIcon resizeIcon(String path, int width, int height) {
-        ImageIcon originalIcon = new ImageIcon(path);
-        Image img = originalIcon.getImage();
+        Image img = loadImage(path);
         Image newImg = img.getScaledInstance(width, height, Image.SCALE_SMOOTH);
         return new ImageIcon(newImg);
     }
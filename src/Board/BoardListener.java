@@ -1,6 +1,13 @@
 package Board;
 
+import Texture.GLTextureCache;
+import Texture.TextureReader;
+import Texture.TextureRegistry;
+import Utils.RenderScheduler;
+import javax.media.opengl.GL;
+import javax.media.opengl.GLAutoDrawable;
 import javax.media.opengl.GLEventListener;
+import java.io.IOException;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseListener;
 
@@ -16,4 +23,95 @@ public abstract class BoardListener implements GLEventListener , KeyListener , M
     protected String D8 = "src//Assets//Players//D8//";
     protected String Nums = "src//Assets//Numbers//";
 
+    protected String[] textureNames;
+    protected TextureReader.Texture[] textures;
+    protected int[] textureIds;
+    protected int[][] textureSizes; // Largest on-screen {width, height} of each texture; null for full size
+
+    private RenderScheduler renderScheduler;
+
+    /**
+     * Fetch textureNames from the shared TextureRegistry and upload them to the current context.
+     * Files another board already decoded are reused instead of read again.
+     */
+    protected void loadTextures(GL gl) {
+        textures = new TextureReader.Texture[textureNames.length];
+        textureIds = new int[textureNames.length];
+        GLTextureCache cache = GLTextureCache.current();
+
+        for (int i = 0; i < textureNames.length; i++) {
+            try {
+                int[] size = textureSize(i);
+                textures[i] = TextureRegistry.acquire(textureNames[i], size[0], size[1]);
+                textureIds[i] = cache.bind(gl, textures[i], true);
+            } catch (IOException e) {
+                System.err.println("Error loading texture: " + textureNames[i]);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Hand this board's textures back to the registry; called when the game stops
+     */
+    public void releaseTextures() {
+        if (textures == null) return;
+        for (int i = 0; i < textures.length; i++) {
+            if (textures[i] != null) {
+                int[] size = textureSize(i);
+                TextureRegistry.release(textureNames[i], size[0], size[1]);
+            }
+        }
+        textures = null;
+    }
+
+    /**
+     * Delete GL objects the board created besides its textures (buffers, display
+     * lists); called with the board's context current when the game stops
+     */
+    public void disposeGL(GL gl) {
+    }
+
+    private int[] textureSize(int index) {
+        if (textureSizes == null || textureSizes[index] == null) {
+            return new int[] {0, 0};
+        }
+        return textureSizes[index];
+    }
+
+    /**
+     * Pixels covered by width x height ortho units when the projection spans
+     * orthoWidth x orthoHeight over the whole drawable, rounded up to a power
+     * of two. The exact drawable size depends on the platform's frame insets;
+     * the rounded size does not, so the registry entry, the disk cache entry
+     * and the manifest preload of a texture are the same on every machine.
+     */
+    protected static int[] displaySize(GLAutoDrawable drawable, float orthoWidth, float orthoHeight,
+                                       float width, float height) {
+        // Before the first layout the drawable has no size; assume one unit per pixel
+        float scaleX = drawable.getWidth() > 0 ? drawable.getWidth() / orthoWidth : 1;
+        float scaleY = drawable.getHeight() > 0 ? drawable.getHeight() / orthoHeight : 1;
+        return new int[] {bucket((int) Math.ceil(width * scaleX)), bucket((int) Math.ceil(height * scaleY))};
+    }
+
+    private static int bucket(int pixels) {
+        return pixels <= 1 ? 1 : Integer.highestOneBit(pixels - 1) << 1;
+    }
+
+    /**
+     * Scheduler repainting this board on demand; null while a continuous animator drives it
+     */
+    public void setRenderScheduler(RenderScheduler renderScheduler) {
+        this.renderScheduler = renderScheduler;
+    }
+
+    /**
+     * Ask for another frame after the given delay, e.g. when a timer display will next change
+     */
+    protected void requestRender(long delayMillis) {
+        if (renderScheduler != null) {
+            renderScheduler.requestRender(delayMillis);
+        }
+    }
+
 }
\ No newline at end of file
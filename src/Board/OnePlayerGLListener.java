@@ -1,38 +1,30 @@
 package Board;
 
 import Entities.Tile;
+import Game.OnePlayerSession;
 import Game.Player;
-import Texture.TextureReader;
-import Utils.Collision;
-import Utils.Timer;
+import Texture.TextureAtlas;
+import Utils.DuckMoveListener;
+import Utils.GameClock;
 import Utils.Sound;
 import Utils.PlayerDataManager;
 import javax.media.opengl.GL;
 import javax.media.opengl.GLAutoDrawable;
-import javax.media.opengl.glu.GLU;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 
-public class OnePlayerGLListener extends BoardListener {
+public class OnePlayerGLListener extends BoardListener implements DuckMoveListener {
 
-    private List<Tile> ducks = new ArrayList<Tile>();
-    private Timer timer;
-    private boolean isGameOver = false;
-    private int score = 0;
-    private int boardsSolved = 0;
+    private final OnePlayerSession session;
+    // Rules follow real time even across long gaps between on-demand frames
+    private final GameClock clock = new GameClock(GameClock.DEFAULT_STEP_NANOS, Long.MAX_VALUE);
     private boolean hasWon = false;
-    private int lives = 3;
 
     private Player player;
 
-    String[] textureNames;
-    TextureReader.Texture[] textures;
-    int[] textureIds;
-
     private static final int BOARD_SIZE = 8;
     private static final int TILE_SIZE = 50;
     private static final int SCREEN_WIDTH = 600;
@@ -41,18 +33,24 @@ public class OnePlayerGLListener extends BoardListener {
     private static final int BOARD_OFFSET_X = 0;
     private static final int BOARD_OFFSET_Y = 0;
 
-    // Indices for number textures in textureIds array
-    private static final int NUMBER_TEXTURE_START = 4; // Starting index for number textures
+    // Duck art per duck slot, same folders as BoardListener.D1..D8
+    private static final int[] DUCK_TYPES = {1, 2, 3, 6, 7, 6, 7, 8};
+
+    private final SpriteBatch batch = new SpriteBatch();
+    private final StaticLayer scenery = new StaticLayer();
+    private TextureAtlas atlas;
+    private TextureAtlas.Region lightTile;
+    private TextureAtlas.Region darkTile;
+    private TextureAtlas.Region heart;
+    private final TextureAtlas.Region[] digits = new TextureAtlas.Region[10];
 
     public OnePlayerGLListener(Player player) {
         this.player = player;
-        this.lives = player.getLives();
-        this.score = player.getScore();
-        timer = new Timer(60);
+        this.session = new OnePlayerSession(player.getLives(), player.getScore());
     }
 
     public List<Tile> getDucks() {
-        return ducks;
+        return session.getDucks();
     }
 
     public void init(GLAutoDrawable drawable) {
@@ -67,100 +65,97 @@ public class OnePlayerGLListener extends BoardListener {
         gl.glEnable(GL.GL_TEXTURE_2D);
         gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
         gl.glEnable(GL.GL_BLEND);
-
-        textureNames = new String[] {
-                background + "2.png",
-                background + "p1.png",  // Light tile
-                background + "p2.png",  // Dark tile
-                background + "life.png", // Heart/life icon
-                // Number textures (0-9)
-                Nums + "0.png", Nums + "1.png", Nums + "2.png", Nums + "3.png", Nums + "4.png",
-                Nums + "5.png", Nums + "6.png", Nums + "7.png", Nums + "8.png", Nums + "9.png",
-                // Duck textures
-                D1 + "f1.png", D2 + "f1.png", D3 + "f1.png", D4 + "f1.png",
-                D5 + "f1.png", D6 + "f1.png", D7 + "f1.png", D8 + "f1.png"
-        };
-
-        textures = new TextureReader.Texture[textureNames.length];
-        textureIds = new int[textureNames.length];
-
-        gl.glGenTextures(textureNames.length, textureIds, 0);
-
-        for (int i = 0; i < textureNames.length; i++) {
-            try {
-                textures[i] = TextureReader.readTexture(textureNames[i], true);
-                gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[i]);
-                new GLU().gluBuild2DMipmaps(GL.GL_TEXTURE_2D, GL.GL_RGBA, textures[i].getWidth(),
-                        textures[i].getHeight(), GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, textures[i].getPixels());
-            } catch (IOException e) {
-                System.err.println("Error loading texture: " + textureNames[i]);
-                e.printStackTrace();
+        batch.reset(); // Buffers and lists from an earlier context are gone
+        scenery.reset();
+
+        textureNames = new String[] { background + "2.png" };
+        textureSizes = new int[][] { displaySize(drawable, SCREEN_WIDTH, SCREEN_HEIGHT, SCREEN_WIDTH, SCREEN_HEIGHT) };
+        loadTextures(gl);
+
+        // Tiles, hearts, digits and ducks all come from one atlas page
+        int[] duckSprites = new int[DUCK_TYPES.length];
+        int[] duckTextures = new int[DUCK_TYPES.length];
+        Arrays.fill(duckTextures, -1); // Ducks are only drawn through the atlas
+        try {
+            atlas = SpriteAtlas.acquire();
+            atlas.upload(gl);
+            lightTile = atlas.getRegion("tile/light");
+            darkTile = atlas.getRegion("tile/dark");
+            heart = atlas.getRegion("life");
+            for (int digit = 0; digit <= 9; digit++) {
+                digits[digit] = atlas.getRegion(SpriteAtlas.digitKey(digit));
+            }
+            for (int i = 0; i < DUCK_TYPES.length; i++) {
+                duckSprites[i] = atlas.getIndex(SpriteAtlas.duckKey(DUCK_TYPES[i], "f1"));
             }
+        } catch (IOException e) {
+            System.err.println("Error loading sprite atlas");
+            e.printStackTrace();
         }
 
-        generateLevel();
-        timer.start();
+        session.start(duckTextures, duckSprites);
     }
 
-    private void generateLevel() {
-        ducks.clear();
-        Random rand = new Random();
-        for (int i = 14; i <= 21; i++) { // Updated indices for duck textures
-            ducks.add(new Tile(rand.nextInt(8), rand.nextInt(8), textureIds[i]));
+    public void releaseTextures() {
+        super.releaseTextures();
+        if (atlas != null) {
+            SpriteAtlas.release();
+            atlas = null;
         }
     }
 
+    public void disposeGL(GL gl) {
+        batch.dispose(gl);
+        scenery.dispose(gl);
+    }
+
+    public void duckMoved(Tile duck, int fromX, int fromY) {
+        session.duckMoved(duck, fromX, fromY);
+    }
+
     public void display(GLAutoDrawable drawable) {
         GL gl = drawable.getGL();
         gl.glClear(GL.GL_COLOR_BUFFER_BIT);
 
-        if (!isGameOver) {
-            drawBackground(gl);
-            drawChessBoard(gl);
+        int steps = clock.advance();
+        for (int i = 0; i < steps; i++) {
+            OnePlayerSession.TickResult result = session.tick(clock.getStepMillis());
+            player.update(clock.getStepMillis());
+            if (result == OnePlayerSession.TickResult.TIME_UP || result == OnePlayerSession.TickResult.GAME_OVER) {
+                Sound.playBadMove();
+            }
+            if (result == OnePlayerSession.TickResult.GAME_OVER) {
+                System.out.println("Game Over! Final Score: " + session.getScore());
+            }
+        }
+        session.refreshConflicts();
 
-            for (Tile duck : ducks) {
-                boolean attacked = Collision.isAttacked(duck, ducks);
-                duck.setSafe(!attacked);
-                duck.draw(gl);
+        if (!session.isGameOver()) {
+            if (atlas == null) {
+                return; // Nothing to draw with
+            }
+            // Background and board never change, so they are recorded once
+            if (scenery.begin(gl)) {
+                batch.begin(gl);
+                drawBackground(gl);
+                drawChessBoard();
+                batch.end();
+                scenery.end(gl);
             }
 
-            drawTimerBar(gl);
-            drawLives(gl);
-            drawScore(gl);
-
-            // Check if player won FIRST (before checking time)
-            boolean allSafe = true;
-            for (Tile duck : ducks) {
-                if (!duck.isSafe()) {
-                    allSafe = false;
-                    break;
-                }
+            batch.begin(gl);
+            for (Tile duck : session.getDucks()) {
+                batch.draw(duck, atlas, TILE_SIZE);
             }
 
-            if (allSafe && ducks.size() == 8) {
-                // Player solved the board!
-                int remainingSeconds = (int)(timer.getRemaining() / 1000);
-                score += remainingSeconds;
-                boardsSolved++;
+            drawTimerBar();
+            drawLives();
+            drawScore();
+            batch.end();
+            player.draw(gl, clock.getAlpha()); // Soldiers placed through Player
+            gl.glEnable(GL.GL_BLEND); // Players.draw turns blending off
 
-                timer.reset();
-                timer.start();
-                generateLevel();
-            }
-            // Check if time is up AFTER checking for win
-            else if (timer.isTimeUp()) {
-                Sound.playBadMove();
-                lives--;
-
-                if (lives <= 0) {
-                    isGameOver = true;
-                    System.out.println("Game Over! Final Score: " + score);
-                } else {
-                    timer.reset();
-                    timer.start();
-                    generateLevel();
-                }
-            }
+            requestRender(timeUntilTimerBarChanges());
         } else {
             gl.glClearColor(1, 0, 0, 1);
             gl.glClear(GL.GL_COLOR_BUFFER_BIT);
@@ -168,170 +163,85 @@ public class OnePlayerGLListener extends BoardListener {
     }
 
     private void drawBackground(GL gl) {
-        gl.glEnable(GL.GL_TEXTURE_2D);
-        gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[0]);
-        gl.glColor3f(1, 1, 1);
-
         int[] viewport = new int[4];
         gl.glGetIntegerv(GL.GL_VIEWPORT, viewport, 0);
-        float width = viewport[2];
-        float height = viewport[3];
-
-        gl.glBegin(GL.GL_QUADS);
-        gl.glTexCoord2f(0, 0); gl.glVertex2f(0, 0);
-        gl.glTexCoord2f(1, 0); gl.glVertex2f(width, 0);
-        gl.glTexCoord2f(1, 1); gl.glVertex2f(width, height);
-        gl.glTexCoord2f(0, 1); gl.glVertex2f(0, height);
-        gl.glEnd();
-
-        gl.glDisable(GL.GL_TEXTURE_2D);
+        batch.draw(textureIds[0], 0, 0, viewport[2], viewport[3]);
     }
 
-    private void drawChessBoard(GL gl) {
-        gl.glEnable(GL.GL_TEXTURE_2D);
-        gl.glColor3f(1, 1, 1);
-
+    private void drawChessBoard() {
         for (int row = 0; row < BOARD_SIZE; row++) {
             for (int col = 0; col < BOARD_SIZE; col++) {
                 boolean isLightTile = (row + col) % 2 == 0;
-                int textureIndex = isLightTile ? 1 : 2;
-
-                gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[textureIndex]);
-
                 float x = BOARD_OFFSET_X + col * TILE_SIZE;
                 float y = BOARD_OFFSET_Y + row * TILE_SIZE;
-
-                gl.glBegin(GL.GL_QUADS);
-                gl.glTexCoord2f(0, 0); gl.glVertex2f(x, y);
-                gl.glTexCoord2f(1, 0); gl.glVertex2f(x + TILE_SIZE, y);
-                gl.glTexCoord2f(1, 1); gl.glVertex2f(x + TILE_SIZE, y + TILE_SIZE);
-                gl.glTexCoord2f(0, 1); gl.glVertex2f(x, y + TILE_SIZE);
-                gl.glEnd();
+                batch.draw(atlas, isLightTile ? lightTile : darkTile, x, y, TILE_SIZE, TILE_SIZE);
             }
         }
-
-        gl.glDisable(GL.GL_TEXTURE_2D);
     }
 
-    private void drawTimerBar(GL gl) {
-        float remainingPercent = (float) timer.getRemaining() / 60000.0f;
+    private void drawTimerBar() {
+        float remainingPercent = (float) session.getTimeRemaining() / OnePlayerSession.LEVEL_TIME;
 
-        gl.glDisable(GL.GL_TEXTURE_2D);
-        gl.glColor3f(0.2f, 0.2f, 0.2f);
-        gl.glBegin(GL.GL_QUADS);
-        gl.glVertex2f(10, SCREEN_HEIGHT - 30);
-        gl.glVertex2f(SCREEN_WIDTH - 10, SCREEN_HEIGHT - 30);
-        gl.glVertex2f(SCREEN_WIDTH - 10, SCREEN_HEIGHT - 10);
-        gl.glVertex2f(10, SCREEN_HEIGHT - 10);
-        gl.glEnd();
+        batch.setColor(0.2f, 0.2f, 0.2f, 1);
+        batch.fill(10, SCREEN_HEIGHT - 30, SCREEN_WIDTH - 20, 20);
 
-        if (remainingPercent > 0.5) gl.glColor3f(0.0f, 1.0f, 0.0f);
-        else if (remainingPercent > 0.2) gl.glColor3f(1.0f, 1.0f, 0.0f);
-        else gl.glColor3f(1.0f, 0.0f, 0.0f);
+        if (remainingPercent > 0.5) batch.setColor(0.0f, 1.0f, 0.0f, 1);
+        else if (remainingPercent > 0.2) batch.setColor(1.0f, 1.0f, 0.0f, 1);
+        else batch.setColor(1.0f, 0.0f, 0.0f, 1);
 
         float barWidth = (SCREEN_WIDTH - 20) * remainingPercent;
-        gl.glBegin(GL.GL_QUADS);
-        gl.glVertex2f(10, SCREEN_HEIGHT - 28);
-        gl.glVertex2f(10 + barWidth, SCREEN_HEIGHT - 28);
-        gl.glVertex2f(10 + barWidth, SCREEN_HEIGHT - 12);
-        gl.glVertex2f(10, SCREEN_HEIGHT - 12);
-        gl.glEnd();
+        batch.fill(10, SCREEN_HEIGHT - 28, barWidth, 16);
+        batch.setColor(1, 1, 1, 1);
     }
 
-    private void drawLives(GL gl) {
-        gl.glEnable(GL.GL_TEXTURE_2D);
-        gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[3]);
-        gl.glColor3f(1, 1, 1);
+    /**
+     * Milliseconds until the timer bar loses its next pixel
+     */
+    private long timeUntilTimerBarChanges() {
+        long remaining = session.getTimeRemaining();
+        long barPixels = SCREEN_WIDTH - 20;
+        long width = barPixels * remaining / OnePlayerSession.LEVEL_TIME;
+        long shrinksAt = width * OnePlayerSession.LEVEL_TIME / barPixels;
+        return Math.max(1, remaining - shrinksAt);
+    }
 
+    private void drawLives() {
         float heartSize = 30;
         float startX = 10;
         float startY = SCREEN_HEIGHT - 70;
 
-        for (int i = 0; i < lives; i++) {
+        for (int i = 0; i < session.getLives(); i++) {
             float x = startX + (i * (heartSize + 5));
-
-            gl.glBegin(GL.GL_QUADS);
-            gl.glTexCoord2f(0, 0); gl.glVertex2f(x, startY);
-            gl.glTexCoord2f(1, 0); gl.glVertex2f(x + heartSize, startY);
-            gl.glTexCoord2f(1, 1); gl.glVertex2f(x + heartSize, startY + heartSize);
-            gl.glTexCoord2f(0, 1); gl.glVertex2f(x, startY + heartSize);
-            gl.glEnd();
+            batch.draw(atlas, heart, x, startY, heartSize, heartSize);
         }
-
-        gl.glDisable(GL.GL_TEXTURE_2D);
     }
 
     /**
      * Draw the score using number textures at the specified position
      */
-    private void drawScore(GL gl) {
-        float digitWidth = 25;   // Width of each digit
-        float digitHeight = 35;  // Height of each digit
-        float digitSpacing = 5;  // Space between digits
-
+    private void drawScore() {
         // Position for score display (top right area)
-        float startX = SCREEN_WIDTH - 120;
-        float startY = SCREEN_HEIGHT - 65;
-
-        // Convert score to string to get individual digits
-        String scoreStr = String.valueOf(score);
-
-        gl.glEnable(GL.GL_TEXTURE_2D);
-        gl.glColor3f(1, 1, 1);
-
-        // Draw each digit
-        for (int i = 0; i < scoreStr.length(); i++) {
-            int digit = Character.getNumericValue(scoreStr.charAt(i));
-
-            // Get texture index for this digit (4-13 are the number textures 0-9)
-            int textureIndex = NUMBER_TEXTURE_START + digit;
-
-            gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[textureIndex]);
-
-            float x = startX + (i * (digitWidth + digitSpacing));
-
-            gl.glBegin(GL.GL_QUADS);
-            gl.glTexCoord2f(0, 0); gl.glVertex2f(x, startY);
-            gl.glTexCoord2f(1, 0); gl.glVertex2f(x + digitWidth, startY);
-            gl.glTexCoord2f(1, 1); gl.glVertex2f(x + digitWidth, startY + digitHeight);
-            gl.glTexCoord2f(0, 1); gl.glVertex2f(x, startY + digitHeight);
-            gl.glEnd();
-        }
-
-        gl.glDisable(GL.GL_TEXTURE_2D);
+        drawNumber(session.getScore(), SCREEN_WIDTH - 120, SCREEN_HEIGHT - 65, 25, 35);
     }
 
     /**
      * Helper method to draw a number at any position
      * Can be used for other numeric displays like timer, level, etc.
      */
-    private void drawNumber(GL gl, int number, float x, float y, float digitWidth, float digitHeight) {
+    private void drawNumber(int number, float x, float y, float digitWidth, float digitHeight) {
         String numStr = String.valueOf(number);
         float digitSpacing = 5;
 
-        gl.glEnable(GL.GL_TEXTURE_2D);
-        gl.glColor3f(1, 1, 1);
-
         for (int i = 0; i < numStr.length(); i++) {
             int digit = Character.getNumericValue(numStr.charAt(i));
-            int textureIndex = NUMBER_TEXTURE_START + digit;
-
-            gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[textureIndex]);
-
             float digitX = x + (i * (digitWidth + digitSpacing));
-
-            gl.glBegin(GL.GL_QUADS);
-            gl.glTexCoord2f(0, 0); gl.glVertex2f(digitX, y);
-            gl.glTexCoord2f(1, 0); gl.glVertex2f(digitX + digitWidth, y);
-            gl.glTexCoord2f(1, 1); gl.glVertex2f(digitX + digitWidth, y + digitHeight);
-            gl.glTexCoord2f(0, 1); gl.glVertex2f(digitX, y + digitHeight);
-            gl.glEnd();
+            batch.draw(atlas, digits[digit], digitX, y, digitWidth, digitHeight);
         }
-
-        gl.glDisable(GL.GL_TEXTURE_2D);
     }
 
-    public void reshape(GLAutoDrawable d, int x, int y, int w, int h) {}
+    public void reshape(GLAutoDrawable d, int x, int y, int w, int h) {
+        scenery.invalidate(); // The background is stretched to the viewport
+    }
     public void displayChanged(GLAutoDrawable d, boolean m, boolean dev) {}
     public void keyTyped(KeyEvent e) {}
     public void keyPressed(KeyEvent e) {}
@@ -0,0 +1,105 @@
+package Board;
+
+import Entities.DuckFrames;
+import Texture.TextureAtlas;
+import Texture.TextureReader;
+import Utils.AssetPreloader;
+import java.io.IOException;
+
+/**
+ * Builds the game's sprite atlas: every duck animation frame, both board
+ * tiles, the life heart and the ten digits, packed into 1024px pages.
+ * Sprites come from the shrunk textures of the TextureRegistry, so they are
+ * read from TextureDiskCache instead of decoded, and the duck frames are the
+ * very textures DuckFrames uses.
+ *
+ * Keys:
+ *   "D1/f1" .. "D8/r2"  duck type and frame name
+ *   "tile/light", "tile/dark"
+ *   "life"
+ *   "digit/0" .. "digit/9"
+ */
+public class SpriteAtlas {
+
+    public static final int PAGE_SIZE = 1024;
+    public static final int MAX_SPRITE_SIZE = 96; // Sprites are drawn at most 50px wide
+
+    public static final int DUCK_TYPES = 8;
+    public static final String[] FRAMES = {"f1", "f2", "b1", "b2", "l1", "l2", "r1", "r2"};
+
+    private static final String PLAYERS = "src//Assets//Players//";
+    private static final String BACKGROUND = "src//Assets//Background//";
+    private static final String NUMBERS = "src//Assets//Numbers//";
+
+    // Shared atlas, kept after the last release until trim() when the game stops
+    private static TextureAtlas shared;
+    private static int references;
+
+    public static String duckKey(int duckType, String frame) {
+        return "D" + duckType + "/" + frame;
+    }
+
+    public static String digitKey(int digit) {
+        return "digit/" + digit;
+    }
+
+    /**
+     * The shared atlas, built on first use. Pair each call with release().
+     */
+    public static synchronized TextureAtlas acquire() throws IOException {
+        if (shared == null) {
+            shared = build();
+        }
+        references++;
+        return shared;
+    }
+
+    public static synchronized void release() {
+        if (references > 0) {
+            references--;
+        }
+    }
+
+    /**
+     * Drop the shared atlas if no board uses it
+     */
+    public static synchronized void trim() {
+        if (references == 0) {
+            shared = null;
+        }
+    }
+
+    /**
+     * Decode and pack all sprites. The result still has to be uploaded on the GL thread.
+     */
+    public static TextureAtlas build() throws IOException {
+        TextureAtlas.Builder builder = new TextureAtlas.Builder(PAGE_SIZE, MAX_SPRITE_SIZE);
+
+        for (int type = 1; type <= DUCK_TYPES; type++) {
+            for (String frame : FRAMES) {
+                add(builder, duckKey(type, frame), PLAYERS + "D" + type + "//" + frame + ".png", DuckFrames.DISPLAY_SIZE);
+            }
+        }
+
+        add(builder, "tile/light", BACKGROUND + "p1.png", MAX_SPRITE_SIZE);
+        add(builder, "tile/dark", BACKGROUND + "p2.png", MAX_SPRITE_SIZE);
+        add(builder, "life", BACKGROUND + "life.png", MAX_SPRITE_SIZE);
+
+        for (int digit = 0; digit <= 9; digit++) {
+            add(builder, digitKey(digit), NUMBERS + digit + ".png", MAX_SPRITE_SIZE);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Add a sprite shrunk to size x size, which the preloader usually has ready from startup
+     */
+    private static void add(TextureAtlas.Builder builder, String key, String path, int size) throws IOException {
+        TextureReader.Texture texture = AssetPreloader.await(AssetPreloader.shared().texture(path, size, size));
+        if (texture == null) {
+            throw new IOException("Could not load sprite " + path);
+        }
+        builder.add(key, texture);
+    }
+}
@@ -0,0 +1,221 @@
+package Board;
+
+import Entities.Tile;
+import Texture.TextureAtlas;
+import com.sun.opengl.util.BufferUtil;
+import javax.media.opengl.GL;
+import java.nio.FloatBuffer;
+
+/**
+ * Collects textured quads into one vertex buffer and draws them with a single
+ * glDrawArrays per texture, instead of a glBegin/glEnd pair per quad.
+ * Quads are flushed when the texture changes, when the buffer is full, and in end().
+ * Texture 0 draws untextured (flat colour) quads.
+ *
+ * Usage, once per frame on the GL thread:
+ *   batch.begin(gl);
+ *   batch.draw(...);
+ *   batch.end();
+ *
+ * Falls back to client-side vertex arrays when the driver has no vertex buffer objects.
+ */
+public class SpriteBatch {
+
+    private static final int FLOATS_PER_VERTEX = 8; // x, y, u, v, r, g, b, a
+    private static final int VERTICES_PER_QUAD = 4;
+    private static final int STRIDE = FLOATS_PER_VERTEX * BufferUtil.SIZEOF_FLOAT;
+
+    private final int capacity; // In quads
+    private final FloatBuffer vertices;
+    private final int[] vbo = new int[1];
+    private boolean useVbo;
+    private boolean initialized;
+
+    private GL gl;
+    private int texture;
+    private int quadCount;
+    private float red = 1, green = 1, blue = 1, alpha = 1;
+
+    // Number of glDrawArrays calls in the last frame
+    private int drawCalls;
+
+    public SpriteBatch() {
+        this(512);
+    }
+
+    public SpriteBatch(int capacity) {
+        this.capacity = capacity;
+        this.vertices = BufferUtil.newFloatBuffer(capacity * VERTICES_PER_QUAD * FLOATS_PER_VERTEX);
+    }
+
+    // ==================== FRAME ====================
+
+    public void begin(GL gl) {
+        if (this.gl != null) {
+            throw new IllegalStateException("begin() called twice without end()");
+        }
+        this.gl = gl;
+        if (!initialized) {
+            useVbo = gl.isFunctionAvailable("glGenBuffers") && gl.isFunctionAvailable("glBufferData");
+            if (useVbo) {
+                gl.glGenBuffers(1, vbo, 0);
+            }
+            initialized = true;
+        }
+
+        texture = 0;
+        quadCount = 0;
+        drawCalls = 0;
+        vertices.clear();
+        setColor(1, 1, 1, 1);
+
+        gl.glEnableClientState(GL.GL_VERTEX_ARRAY);
+        gl.glEnableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+        gl.glEnableClientState(GL.GL_COLOR_ARRAY);
+    }
+
+    public void end() {
+        flush();
+        gl.glDisableClientState(GL.GL_VERTEX_ARRAY);
+        gl.glDisableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+        gl.glDisableClientState(GL.GL_COLOR_ARRAY);
+        if (useVbo) {
+            gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+        }
+        gl.glDisable(GL.GL_TEXTURE_2D);
+        gl.glColor3f(1, 1, 1);
+        gl = null;
+    }
+
+    /**
+     * Forget the vertex buffer of a previous context without deleting it (it went
+     * with that context); call from init(), which runs again for a new context
+     */
+    public void reset() {
+        initialized = false;
+    }
+
+    /**
+     * Delete the vertex buffer; call with the batch's context current
+     */
+    public void dispose(GL gl) {
+        if (initialized && useVbo) {
+            gl.glDeleteBuffers(1, vbo, 0);
+        }
+        initialized = false;
+    }
+
+    // ==================== DRAWING ====================
+
+    public void setColor(float red, float green, float blue, float alpha) {
+        this.red = red;
+        this.green = green;
+        this.blue = blue;
+        this.alpha = alpha;
+    }
+
+    /**
+     * Queue a quad with its lower-left corner at (x, y) showing the whole texture
+     */
+    public void draw(int texture, float x, float y, float width, float height) {
+        draw(texture, x, y, width, height, 0, 0, 1, 1);
+    }
+
+    /**
+     * Queue a quad showing one atlas sprite
+     */
+    public void draw(TextureAtlas atlas, TextureAtlas.Region region, float x, float y, float width, float height) {
+        draw(atlas.getTextureId(region), x, y, width, height, region.u0, region.v0, region.u1, region.v1);
+    }
+
+    /**
+     * Queue an untextured quad in the current colour
+     */
+    public void fill(float x, float y, float width, float height) {
+        draw(0, x, y, width, height, 0, 0, 0, 0);
+    }
+
+    public void draw(int texture, float x, float y, float width, float height,
+                     float u0, float v0, float u1, float v1) {
+        if (texture != this.texture || quadCount == capacity) {
+            flush();
+            this.texture = texture;
+        }
+
+        vertex(x, y, u0, v0);
+        vertex(x + width, y, u1, v0);
+        vertex(x + width, y + height, u1, v1);
+        vertex(x, y + height, u0, v1);
+        quadCount++;
+    }
+
+    /**
+     * Queue a duck at its board square, tinted like Tile.draw.
+     * The tile's sprite index selects its region in the atlas.
+     */
+    public void draw(Tile tile, TextureAtlas atlas, float tileSize) {
+        if (tile.isHighlighted()) {
+            setColor(1, 1, 0, 1);
+        } else if (!tile.isSafe()) {
+            setColor(1, 0, 0, 1);
+        } else {
+            setColor(1, 1, 1, 1);
+        }
+
+        float x = tile.getX() * tileSize;
+        float y = tile.getY() * tileSize;
+        if (tile.getSprite() != -1) {
+            draw(atlas, atlas.getRegion(tile.getSprite()), x, y, tileSize, tileSize);
+        } else {
+            fill(x, y, tileSize, tileSize);
+        }
+        setColor(1, 1, 1, 1);
+    }
+
+    private void vertex(float x, float y, float u, float v) {
+        vertices.put(x).put(y).put(u).put(v).put(red).put(green).put(blue).put(alpha);
+    }
+
+    /**
+     * Draw everything queued so far in one call
+     */
+    public void flush() {
+        if (quadCount == 0) {
+            return;
+        }
+
+        if (texture != 0) {
+            gl.glEnable(GL.GL_TEXTURE_2D);
+            gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+        } else {
+            gl.glDisable(GL.GL_TEXTURE_2D);
+        }
+
+        vertices.flip();
+        if (useVbo) {
+            gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo[0]);
+            // Orphan and refill the buffer so the driver never waits on the previous draw
+            gl.glBufferData(GL.GL_ARRAY_BUFFER, vertices.limit() * BufferUtil.SIZEOF_FLOAT, vertices, GL.GL_STREAM_DRAW);
+            gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, 0);
+            gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE, 2 * BufferUtil.SIZEOF_FLOAT);
+            gl.glColorPointer(4, GL.GL_FLOAT, STRIDE, 4 * BufferUtil.SIZEOF_FLOAT);
+        } else {
+            vertices.position(0);
+            gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, vertices);
+            vertices.position(2);
+            gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE, vertices);
+            vertices.position(4);
+            gl.glColorPointer(4, GL.GL_FLOAT, STRIDE, vertices);
+            vertices.position(0);
+        }
+        gl.glDrawArrays(GL.GL_QUADS, 0, quadCount * VERTICES_PER_QUAD);
+
+        drawCalls++;
+        quadCount = 0;
+        vertices.clear();
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+}
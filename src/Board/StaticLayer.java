@@ -0,0 +1,71 @@
+package Board;
+
+import javax.media.opengl.GL;
+
+/**
+ * Scenery that does not change between frames (background, chessboard),
+ * recorded once into a display list and replayed with a single glCallList.
+ * Call invalidate() when the scenery changes, e.g. from reshape().
+ *
+ * Usage:
+ *   if (layer.begin(gl)) {
+ *       ... draw the static scenery ...
+ *       layer.end(gl);
+ *   }
+ *
+ * begin() replays the cached list and returns false when it is still valid,
+ * otherwise starts recording and returns true.
+ */
+public class StaticLayer {
+
+    private int list;
+    private boolean valid;
+
+    public boolean begin(GL gl) {
+        if (valid) {
+            gl.glCallList(list);
+            return false;
+        }
+        if (list == 0) {
+            list = gl.glGenLists(1);
+        }
+        gl.glNewList(list, GL.GL_COMPILE);
+        return true;
+    }
+
+    /**
+     * Finish recording and draw the new list
+     */
+    public void end(GL gl) {
+        gl.glEndList();
+        valid = true;
+        gl.glCallList(list);
+    }
+
+    /**
+     * Re-record on the next frame
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Forget the list of a previous context without deleting it (it went with
+     * that context); call from init(), which runs again for a new context
+     */
+    public void reset() {
+        list = 0;
+        valid = false;
+    }
+
+    /**
+     * Delete the list; call with the layer's context current
+     */
+    public void dispose(GL gl) {
+        if (list != 0) {
+            gl.glDeleteLists(list, 1);
+            list = 0;
+        }
+        valid = false;
+    }
+}
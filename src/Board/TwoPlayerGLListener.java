@@ -1,36 +1,24 @@
 package Board;
 
 import Entities.Tile;
-import Texture.TextureReader;
-import Utils.Collision;
-import Utils.Timer;
+import Game.MultiPlayerManager;
+import Utils.DuckMoveListener;
+import Utils.GameClock;
 import javax.media.opengl.GL;
 import javax.media.opengl.GLAutoDrawable;
-import javax.media.opengl.glu.GLU;
-import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 
-public class TwoPlayerGLListener extends BoardListener {
+public class TwoPlayerGLListener extends BoardListener implements DuckMoveListener {
 
-    private List<Tile> allDucks = new ArrayList<Tile>();
-    private List<Tile> player1Ducks = new ArrayList<Tile>();
-    private List<Tile> player2Ducks = new ArrayList<Tile>();
-    private Timer timer;
-    private String winner = "";
-    String[] textureNames;
-    TextureReader.Texture[] textures;
-    int[] textureIds;
-
-    public TwoPlayerGLListener() {
-        timer = new Timer(120);
-    }
+    private final MultiPlayerManager match = new MultiPlayerManager();
+    private final StaticLayer scenery = new StaticLayer();
+    private final GameClock clock = new GameClock(GameClock.DEFAULT_STEP_NANOS, Long.MAX_VALUE);
 
     public List<Tile> getAllDucks() {
-        return allDucks;
+        return match.getAllDucks();
     }
 
     public void init(GLAutoDrawable drawable) {
@@ -44,59 +32,51 @@ public class TwoPlayerGLListener extends BoardListener {
         gl.glEnable(GL.GL_TEXTURE_2D);
         gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
         gl.glEnable(GL.GL_BLEND);
+        scenery.reset(); // A list from an earlier context is gone
 
         textureNames = new String[] { background + ".png", D1 + ".png", D2 + ".png", D3 + ".png", D4 + ".png", D5 + ".png", D6 + ".png", D7 + ".png", D8 + ".png" };
-        textures = new TextureReader.Texture[textureNames.length];
-        textureIds = new int[textureNames.length];
-        gl.glGenTextures(textureNames.length, textureIds, 0);
-
-        for (int i = 0; i < textureNames.length; i++) {
-            try {
-                textures[i] = TextureReader.readTexture(textureNames[i], true);
-                gl.glBindTexture(GL.GL_TEXTURE_2D, textureIds[i]);
-                new GLU().gluBuild2DMipmaps(GL.GL_TEXTURE_2D, GL.GL_RGBA, textures[i].getWidth(), textures[i].getHeight(), GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, textures[i].getPixels());
-            } catch (IOException e) { e.printStackTrace(); }
+        textureSizes = new int[textureNames.length][];
+        textureSizes[0] = displaySize(drawable, 800, 600, 400, 400); // Board background
+        for (int i = 1; i < textureSizes.length; i++) {
+            textureSizes[i] = displaySize(drawable, 800, 600, 50, 50); // One tile
         }
+        loadTextures(gl);
 
-        generateLevels();
-        timer.start();
+        match.start(Arrays.copyOfRange(textureIds, 1, 9)); // Duck textures
     }
 
-    private void generateLevels() {
-        Random rand = new Random();
-        for(int i=1; i<=8; i++) {
-            Tile t = new Tile(rand.nextInt(8), rand.nextInt(8), textureIds[i]);
-            player1Ducks.add(t);
-            allDucks.add(t);
-        }
-        for(int i=1; i<=8; i++) {
-            Tile t = new Tile(rand.nextInt(8) + 8, rand.nextInt(8), textureIds[i]);
-            player2Ducks.add(t);
-            allDucks.add(t);
-        }
+    public void disposeGL(GL gl) {
+        scenery.dispose(gl);
+    }
+
+    public void duckMoved(Tile duck, int fromX, int fromY) {
+        match.duckMoved(duck, fromX, fromY);
     }
 
     public void display(GLAutoDrawable drawable) {
         GL gl = drawable.getGL();
         gl.glClear(GL.GL_COLOR_BUFFER_BIT);
-        drawBackground(gl, 0);
-        drawBackground(gl, 400);
+        if (scenery.begin(gl)) {
+            drawBackground(gl, 0);
+            drawBackground(gl, 400);
+            scenery.end(gl);
+        }
+
+        String winner = match.getWinner();
+        int steps = clock.advance();
+        for (int i = 0; i < steps; i++) {
+            winner = match.tick(clock.getStepMillis());
+        }
+        match.refreshConflicts();
 
         if (winner.isEmpty()) {
-            for (Tile duck : player1Ducks) {
-                boolean attacked = Collision.isAttacked(duck, player1Ducks);
-                duck.setSafe(!attacked);
+            for (Tile duck : match.getPlayer1Ducks()) {
                 duck.draw(gl);
             }
-            if(Collision.isBoardSolved(player1Ducks)) winner = "Player 1 Wins!";
-
-            for (Tile duck : player2Ducks) {
-                boolean attacked = Collision.isAttacked(duck, player2Ducks);
-                duck.setSafe(!attacked);
+            for (Tile duck : match.getPlayer2Ducks()) {
                 duck.draw(gl);
             }
-            if(Collision.isBoardSolved(player2Ducks)) winner = "Player 2 Wins!";
-
+            requestRender(Math.max(1, match.getTimeRemaining())); // Match end
         } else {
             System.out.println(winner);
             gl.glClearColor(0, 1, 0, 1);
@@ -117,7 +97,9 @@ public class TwoPlayerGLListener extends BoardListener {
         gl.glDisable(GL.GL_TEXTURE_2D);
     }
 
-    public void reshape(GLAutoDrawable d, int x, int y, int w, int h) {}
+    public void reshape(GLAutoDrawable d, int x, int y, int w, int h) {
+        scenery.invalidate();
+    }
     public void displayChanged(GLAutoDrawable d, boolean m, boolean dev) {}
     public void keyTyped(KeyEvent e) {}
     public void keyPressed(KeyEvent e) {}
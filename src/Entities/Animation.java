@@ -1,6 +1,7 @@
 package Entities;
 
 import Texture.TextureReader;
+import Texture.TextureRegistry;
 import javax.media.opengl.GL;
 import java.io.IOException;
 import java.util.HashMap;
@@ -15,9 +16,21 @@ public class Animation {
         RIGHT,
         SELECTED
     }
+    // Frame slots shown by each animation type, indexed by AnimationType.ordinal(); shared with AnimationSystem
+    static final int[][] SEQUENCES = new int[AnimationType.values().length][];
+    static {
+        SEQUENCES[AnimationType.IDLE.ordinal()] = new int[]{DuckFrames.F1};
+        SEQUENCES[AnimationType.FORWARD.ordinal()] = new int[]{DuckFrames.F1, DuckFrames.F2};
+        SEQUENCES[AnimationType.BACKWARD.ordinal()] = new int[]{DuckFrames.B1, DuckFrames.B2};
+        SEQUENCES[AnimationType.LEFT.ordinal()] = new int[]{DuckFrames.L1, DuckFrames.L2};
+        SEQUENCES[AnimationType.RIGHT.ordinal()] = new int[]{DuckFrames.R1, DuckFrames.R2};
+        SEQUENCES[AnimationType.SELECTED.ordinal()] = new int[]{DuckFrames.F1, DuckFrames.F2};
+    }
+
     private AnimationType currentAnimation;
-    private Map<String, TextureReader.Texture> frames;
-    private String[] currentFrameSequence;
+    private TextureReader.Texture[] frames;   // indexed by DuckFrames slot
+    private boolean ownsFrames;               // false while frames is a shared DuckFrames array
+    private int[] currentFrameSequence;       // one of SEQUENCES, never modified
     private int currentFrameIndex;
     private float frameTimer;
     private float frameDuration;
@@ -27,14 +40,17 @@ public class Animation {
     private float startX, startY;
     private float targetX, targetY;
     private float currentX, currentY;
+    private float previousX, previousY;       // Position before the last update, for interpolation
     private float movementProgress;
     private boolean isMoving;
-    private static final float DEFAULT_FRAME_DURATION = 0.15f; // 150ms per frame
-    private static final float MOVEMENT_DURATION = 0.3f; // 300ms for smooth movement
+    static final float DEFAULT_FRAME_DURATION = 0.15f; // 150ms per frame
+    static final float MOVEMENT_DURATION = 0.3f; // 300ms for smooth movement
 
     public Animation() {
-        this.frames = new HashMap<>();
+        this.frames = new TextureReader.Texture[DuckFrames.FRAME_COUNT];
+        this.ownsFrames = true;
         this.currentAnimation = AnimationType.IDLE;
+        this.currentFrameSequence = SEQUENCES[AnimationType.IDLE.ordinal()];
         this.currentFrameIndex = 0;
         this.frameTimer = 0;
         this.frameDuration = DEFAULT_FRAME_DURATION;
@@ -46,33 +62,33 @@ public class Animation {
     }
 
     public void loadDuckAnimations(String duckFolder) {
-        try {
-            frames.put("f1", TextureReader.readTexture(duckFolder + "//f1.png", true));
-            frames.put("f2", TextureReader.readTexture(duckFolder + "//f2.png", true));
-
-
-            frames.put("b1", TextureReader.readTexture(duckFolder + "//b1.png", true));
-            frames.put("b2", TextureReader.readTexture(duckFolder + "//b2.png", true));
-
-
-            frames.put("l1", TextureReader.readTexture(duckFolder + "//l1.png", true));
-            frames.put("l2", TextureReader.readTexture(duckFolder + "//l2.png", true));
-
-
-            frames.put("r1", TextureReader.readTexture(duckFolder + "//r1.png", true));
-            frames.put("r2", TextureReader.readTexture(duckFolder + "//r2.png", true));
-
-            currentFrameSequence = new String[]{"f1"};
-
-        } catch (IOException e) {
-            System.err.println("Error loading duck animations from: " + duckFolder);
-            e.printStackTrace();
+        for (String name : DuckFrames.FRAME_NAMES) {
+            loadFrame(name, duckFolder + "//" + name + ".png");
         }
     }
 
+    /**
+     * Use the shared frames of a duck type instead of loading private copies
+     */
+    public void setFrames(DuckFrames duckFrames) {
+        frames = duckFrames.slots();
+        ownsFrames = false;
+    }
+
+    /**
+     * Load one frame into its slot; key must be one of DuckFrames.FRAME_NAMES
+     */
     public void loadFrame(String key, String filepath) {
+        int slot = DuckFrames.slotOf(key);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Unknown frame: " + key);
+        }
+        if (!ownsFrames) {
+            frames = frames.clone(); // Never modify the shared frames
+            ownsFrames = true;
+        }
         try {
-            frames.put(key, TextureReader.readTexture(filepath, true));
+            frames[slot] = TextureRegistry.acquire(filepath, DuckFrames.DISPLAY_SIZE, DuckFrames.DISPLAY_SIZE);
         } catch (IOException e) {
             System.err.println("Error loading frame: " + filepath);
             e.printStackTrace();
@@ -94,36 +110,20 @@ public class Animation {
             return;
         }
         this.currentAnimation = type;
+        this.currentFrameSequence = SEQUENCES[type.ordinal()];
         this.currentFrameIndex = 0;
         this.frameTimer = 0;
         this.isComplete = false;
         switch (type) {
             case FORWARD:
-                currentFrameSequence = new String[]{"f1", "f2"};
-                isLooping = false;
-                isPlaying = true;
-                break;
-
             case BACKWARD:
-                currentFrameSequence = new String[]{"b1", "b2"};
-                isLooping = false;
-                isPlaying = true;
-                break;
-
             case LEFT:
-                currentFrameSequence = new String[]{"l1", "l2"};
-                isLooping = false;
-                isPlaying = true;
-                break;
-
             case RIGHT:
-                currentFrameSequence = new String[]{"r1", "r2"};
                 isLooping = false;
                 isPlaying = true;
                 break;
 
             case SELECTED:
-                currentFrameSequence = new String[]{"f1", "f2"};
                 isLooping = true;
                 isPlaying = true;
                 frameDuration = 0.25f;
@@ -131,18 +131,25 @@ public class Animation {
 
             case IDLE:
             default:
-                currentFrameSequence = new String[]{"f1"};
                 isLooping = false;
                 isPlaying = false;
                 break;
         }
     }
 
+    /**
+     * Advance by one 60 Hz frame; prefer update(float) with the real step
+     */
     public void update() {
         update(0.016f);
     }
+    /**
+     * Advance frames and movement by deltaTime seconds
+     */
     public void update(float deltaTime) {
-        if (!isPlaying || currentFrameSequence == null || currentFrameSequence.length == 0) {
+        previousX = currentX;
+        previousY = currentY;
+        if (!isPlaying) {
             return;
         }
         frameTimer += deltaTime;
@@ -203,6 +210,8 @@ public class Animation {
     public void setPosition(float x, float y) {
         this.currentX = x;
         this.currentY = y;
+        this.previousX = x;
+        this.previousY = y;
         this.startX = x;
         this.startY = y;
         this.targetX = x;
@@ -212,12 +221,14 @@ public class Animation {
 
 
     public TextureReader.Texture getCurrentFrame() {
-        if (currentFrameSequence == null || currentFrameSequence.length == 0) {
-            return null;
-        }
+        return frames[currentFrameSequence[currentFrameIndex]];
+    }
 
-        String frameKey = currentFrameSequence[currentFrameIndex];
-        return frames.get(frameKey);
+    /**
+     * Frame in a DuckFrames slot, e.g. AnimationSystem.getFrameSlot()
+     */
+    public TextureReader.Texture getFrame(int slot) {
+        return frames[slot];
     }
 
 
@@ -269,6 +280,12 @@ public class Animation {
     public float getCurrentX() { return currentX; }
     public float getCurrentY() { return currentY; }
 
+    /**
+     * Position between the last two updates, alpha 0 being the older one
+     */
+    public float getInterpolatedX(float alpha) { return lerp(previousX, currentX, alpha); }
+    public float getInterpolatedY(float alpha) { return lerp(previousY, currentY, alpha); }
+
     public float getTargetX() { return targetX; }
     public float getTargetY() { return targetY; }
 
@@ -288,7 +305,16 @@ public class Animation {
         return currentAnimation;
     }
 
+    /**
+     * Loaded frames by name; builds a new map, so keep it out of per-frame code
+     */
     public Map<String, TextureReader.Texture> getAllFrames() {
-        return frames;
+        Map<String, TextureReader.Texture> byName = new HashMap<>();
+        for (int slot = 0; slot < frames.length; slot++) {
+            if (frames[slot] != null) {
+                byName.put(DuckFrames.FRAME_NAMES[slot], frames[slot]);
+            }
+        }
+        return byName;
     }
 }
\ No newline at end of file
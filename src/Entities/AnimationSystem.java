@@ -0,0 +1,239 @@
+package Entities;
+
+import java.util.Arrays;
+
+/**
+ * Animation state for many sprites at once, stored as parallel primitive
+ * arrays (structure of arrays) and advanced in one loop by update().
+ * Each sprite is an int handle returned by add(); it follows the same rules
+ * as a single Animation (frame sequences, looping, 300 ms smoothstep moves),
+ * but thousands of them update without touching one object per sprite.
+ * Frames are reported as DuckFrames slots, so drawing code looks the texture
+ * up in the sprite's DuckFrames. A sprite whose walk finishes goes back to
+ * IDLE unless setReturnToIdle() turned that off, as Players does while selected.
+ */
+public class AnimationSystem {
+
+    private static final Animation.AnimationType[] TYPES = Animation.AnimationType.values();
+    private static final int IDLE = Animation.AnimationType.IDLE.ordinal();
+    private static final int SELECTED = Animation.AnimationType.SELECTED.ordinal();
+
+    private int count;
+
+    // Position and movement
+    private float[] currentX, currentY;
+    private float[] previousX, previousY;
+    private float[] startX, startY;
+    private float[] targetX, targetY;
+    private float[] progress;        // 0..1 through the current move
+    private boolean[] moving;
+
+    // Frames
+    private byte[] type;             // AnimationType ordinal
+    private byte[] frameIndex;       // position in the type's sequence
+    private float[] frameTimer;
+    private float[] frameDuration;
+    private boolean[] looping;
+    private boolean[] playing;
+    private boolean[] complete;
+    private boolean[] returnToIdle;  // switch to IDLE when a non-looping animation completes
+
+    public AnimationSystem() {
+        this(64);
+    }
+
+    public AnimationSystem(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    private void allocate(int capacity) {
+        currentX = grow(currentX, capacity);
+        currentY = grow(currentY, capacity);
+        previousX = grow(previousX, capacity);
+        previousY = grow(previousY, capacity);
+        startX = grow(startX, capacity);
+        startY = grow(startY, capacity);
+        targetX = grow(targetX, capacity);
+        targetY = grow(targetY, capacity);
+        progress = grow(progress, capacity);
+        moving = grow(moving, capacity);
+        type = grow(type, capacity);
+        frameIndex = grow(frameIndex, capacity);
+        frameTimer = grow(frameTimer, capacity);
+        frameDuration = grow(frameDuration, capacity);
+        looping = grow(looping, capacity);
+        playing = grow(playing, capacity);
+        complete = grow(complete, capacity);
+        returnToIdle = grow(returnToIdle, capacity);
+    }
+
+    private static float[] grow(float[] a, int n) { return a == null ? new float[n] : Arrays.copyOf(a, n); }
+    private static byte[] grow(byte[] a, int n) { return a == null ? new byte[n] : Arrays.copyOf(a, n); }
+    private static boolean[] grow(boolean[] a, int n) { return a == null ? new boolean[n] : Arrays.copyOf(a, n); }
+
+    // ==================== SPRITES ====================
+
+    /**
+     * Add an idle sprite at the given position
+     * @return the sprite's handle
+     */
+    public int add(float x, float y) {
+        if (count == currentX.length) {
+            allocate(count * 2);
+        }
+        int id = count++;
+        frameDuration[id] = Animation.DEFAULT_FRAME_DURATION;
+        returnToIdle[id] = true;
+        setPosition(id, x, y);
+        resetFrames(id, IDLE);
+        return id;
+    }
+
+    /**
+     * Remove every sprite; handles from earlier add() calls become invalid
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void setPosition(int id, float x, float y) {
+        currentX[id] = previousX[id] = startX[id] = targetX[id] = x;
+        currentY[id] = previousY[id] = startY[id] = targetY[id] = y;
+        moving[id] = false;
+    }
+
+    /**
+     * Start a smooth move and the walking animation facing its direction
+     */
+    public void moveTo(int id, float x, float y) {
+        startX[id] = currentX[id];
+        startY[id] = currentY[id];
+        targetX[id] = x;
+        targetY[id] = y;
+        progress[id] = 0;
+        moving[id] = true;
+
+        float dx = x - startX[id];
+        float dy = y - startY[id];
+        Animation.AnimationType direction;
+        if (Math.abs(dx) > Math.abs(dy)) {
+            direction = dx > 0 ? Animation.AnimationType.RIGHT : Animation.AnimationType.LEFT;
+        } else {
+            direction = dy > 0 ? Animation.AnimationType.FORWARD : Animation.AnimationType.BACKWARD;
+        }
+        setAnimationType(id, direction);
+    }
+
+    public void setAnimationType(int id, Animation.AnimationType animationType) {
+        int t = animationType.ordinal();
+        if (type[id] == t && playing[id]) {
+            return;
+        }
+        resetFrames(id, t);
+    }
+
+    public void setReturnToIdle(int id, boolean idle) {
+        returnToIdle[id] = idle;
+    }
+
+    private void resetFrames(int id, int t) {
+        type[id] = (byte) t;
+        frameIndex[id] = 0;
+        frameTimer[id] = 0;
+        complete[id] = false;
+        if (t == IDLE) {
+            looping[id] = false;
+            playing[id] = false;
+        } else if (t == SELECTED) {
+            looping[id] = true;
+            playing[id] = true;
+            frameDuration[id] = 0.25f;
+        } else {
+            looping[id] = false;
+            playing[id] = true;
+        }
+    }
+
+    // ==================== UPDATE ====================
+
+    /**
+     * Advance every sprite by deltaTime seconds
+     */
+    public void update(float deltaTime) {
+        float moveStep = deltaTime / Animation.MOVEMENT_DURATION;
+        int[][] sequences = Animation.SEQUENCES;
+
+        for (int i = 0; i < count; i++) {
+            previousX[i] = currentX[i];
+            previousY[i] = currentY[i];
+            if (!playing[i]) {
+                continue;
+            }
+
+            float timer = frameTimer[i] + deltaTime;
+            if (timer >= frameDuration[i]) {
+                timer = 0;
+                int length = sequences[type[i]].length;
+                int index = frameIndex[i] + 1;
+                if (index >= length) {
+                    if (looping[i]) {
+                        index = 0;
+                    } else {
+                        index = length - 1;
+                        complete[i] = true;
+                        playing[i] = false;
+                    }
+                }
+                frameIndex[i] = (byte) index;
+            }
+            frameTimer[i] = timer;
+
+            if (moving[i]) {
+                float p = progress[i] + moveStep;
+                if (p >= 1.0f) {
+                    p = 1.0f;
+                    currentX[i] = targetX[i];
+                    currentY[i] = targetY[i];
+                    moving[i] = false;
+                } else {
+                    float t = p * p * (3.0f - 2.0f * p);
+                    currentX[i] = startX[i] + (targetX[i] - startX[i]) * t;
+                    currentY[i] = startY[i] + (targetY[i] - startY[i]) * t;
+                }
+                progress[i] = p;
+            }
+
+            if (complete[i] && returnToIdle[i]) {
+                resetFrames(i, IDLE);
+            }
+        }
+    }
+
+    // ==================== GETTERS ====================
+
+    public float getX(int id) { return currentX[id]; }
+    public float getY(int id) { return currentY[id]; }
+
+    /**
+     * Position between the last two updates, alpha 0 being the older one
+     */
+    public float getInterpolatedX(int id, float alpha) { return previousX[id] + (currentX[id] - previousX[id]) * alpha; }
+    public float getInterpolatedY(int id, float alpha) { return previousY[id] + (currentY[id] - previousY[id]) * alpha; }
+
+    /**
+     * DuckFrames slot of the sprite's current frame
+     */
+    public int getFrameSlot(int id) {
+        return Animation.SEQUENCES[type[id]][frameIndex[id]];
+    }
+
+    public Animation.AnimationType getAnimationType(int id) { return TYPES[type[id]]; }
+    public boolean isMoving(int id) { return moving[id]; }
+    public boolean isPlaying(int id) { return playing[id]; }
+    public boolean isComplete(int id) { return complete[id]; }
+    public float getProgress(int id) { return progress[id]; }
+}
@@ -0,0 +1,109 @@
+package Entities;
+
+import Texture.TextureReader;
+import Texture.TextureRegistry;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The animation frames of one duck type, decoded once per process and shared
+ * by every Players of that type (flyweight). Instances are immutable; an
+ * Animation that needs extra frames copies the map first.
+ */
+public final class DuckFrames {
+
+    public static final String[] FRAME_NAMES = {"f1", "f2", "b1", "b2", "l1", "l2", "r1", "r2"};
+
+    // Frame slots, the index of each name in FRAME_NAMES
+    public static final int F1 = 0, F2 = 1, B1 = 2, B2 = 3, L1 = 4, L2 = 5, R1 = 6, R2 = 7;
+    public static final int FRAME_COUNT = FRAME_NAMES.length;
+
+    // Ducks are drawn at most a tile wide: 50 units, 75 px on the two-player board's stretched projection
+    public static final int DISPLAY_SIZE = 75;
+
+    private static final String PLAYERS_PATH = "src//Assets//Players//D";
+    private static final Map<Integer, DuckFrames> BY_TYPE = new HashMap<Integer, DuckFrames>();
+
+    private final int duckType;
+    private final TextureReader.Texture[] slots;   // indexed by frame slot, never modified
+    private final Map<String, TextureReader.Texture> frames;
+
+    private DuckFrames(int duckType, TextureReader.Texture[] slots) {
+        this.duckType = duckType;
+        this.slots = slots;
+        Map<String, TextureReader.Texture> byName = new HashMap<String, TextureReader.Texture>();
+        for (int slot = 0; slot < FRAME_COUNT; slot++) {
+            if (slots[slot] != null) {
+                byName.put(FRAME_NAMES[slot], slots[slot]);
+            }
+        }
+        this.frames = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Slot of a frame name, or -1 if it is not one of FRAME_NAMES
+     */
+    public static int slotOf(String name) {
+        for (int slot = 0; slot < FRAME_COUNT; slot++) {
+            if (FRAME_NAMES[slot].equals(name)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Shared frames for a duck type (1-8), loaded on first request
+     */
+    public static synchronized DuckFrames forType(int duckType) {
+        DuckFrames duckFrames = BY_TYPE.get(duckType);
+        if (duckFrames == null) {
+            duckFrames = load(duckType);
+            BY_TYPE.put(duckType, duckFrames);
+        }
+        return duckFrames;
+    }
+
+    private static DuckFrames load(int duckType) {
+        String folder = PLAYERS_PATH + duckType + "//";
+        TextureReader.Texture[] slots = new TextureReader.Texture[FRAME_COUNT];
+        for (int slot = 0; slot < FRAME_COUNT; slot++) {
+            String file = folder + FRAME_NAMES[slot] + ".png";
+            try {
+                slots[slot] = TextureRegistry.acquire(file, DISPLAY_SIZE, DISPLAY_SIZE);
+            } catch (IOException e) {
+                System.err.println("Error loading duck frame: " + file);
+                e.printStackTrace();
+            }
+        }
+        return new DuckFrames(duckType, slots);
+    }
+
+    public int getDuckType() {
+        return duckType;
+    }
+
+    public TextureReader.Texture get(String name) {
+        return frames.get(name);
+    }
+
+    public TextureReader.Texture get(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * The shared slot array itself, for Animation; callers must not modify it
+     */
+    TextureReader.Texture[] slots() {
+        return slots;
+    }
+
+    /**
+     * Read-only view of all frames by name
+     */
+    public Map<String, TextureReader.Texture> asMap() {
+        return frames;
+    }
+}
@@ -1,5 +1,6 @@
 package Entities;
 
+import Texture.GLTextureCache;
 import Texture.TextureReader;
 import javax.media.opengl.GL;
 import java.awt.Point;
@@ -21,6 +22,8 @@ public class Players {
 
     // ==================== VISUAL ATTRIBUTES ====================
     private Animation animation;
+    private AnimationSystem animations;  // Steps this soldier instead of animation once attached
+    private int sprite = -1;             // Handle in animations
     private boolean isSelected;
     private boolean isHighlighted;
     private int textureID;        // OpenGL texture ID (if needed)
@@ -78,18 +81,24 @@ public class Players {
     // ==================== TEXTURE LOADING ====================
 
     /**
-     * Load textures for this duck soldier
+     * Point this soldier's animation at the shared frames of its duck type
      */
     public void loadDuckTextures() {
-        String duckFolder = getDuckFolderPath();
-        animation.loadDuckAnimations(duckFolder);
+        animation.setFrames(DuckFrames.forType(duckType));
     }
 
     /**
-     * Get the folder path for this duck's textures
+     * Let the system step this soldier together with its other sprites.
+     * From then on update() leaves the soldier to AnimationSystem.update(),
+     * and getAnimation() only supplies the frames.
      */
-    private String getDuckFolderPath() {
-        return "Assets//Players//D" + duckType;
+    public void attach(AnimationSystem system) {
+        sprite = system.add(getX(), getY());
+        animations = system;
+        if (isSelected) {
+            setAnimationType(Animation.AnimationType.SELECTED);
+            system.setReturnToIdle(sprite, false);
+        }
     }
 
     // ==================== CORE METHODS ====================
@@ -98,13 +107,21 @@ public class Players {
      * Render the soldier sprite at current position
      */
     public void draw(GL gl) {
-        if (!isPlaced && !animation.isMoving()) {
+        draw(gl, 1.0f);
+    }
+
+    /**
+     * Render the soldier sprite between its last two simulated positions
+     * @param alpha GameClock.getAlpha() of the frame being drawn
+     */
+    public void draw(GL gl, float alpha) {
+        if (!isPlaced && !isMoving()) {
             return; // Don't draw if not visible
         }
 
         // Get current position from animation
-        float renderX = animation.getCurrentX();
-        float renderY = animation.getCurrentY();
+        float renderX = animations != null ? animations.getInterpolatedX(sprite, alpha) : animation.getInterpolatedX(alpha);
+        float renderY = animations != null ? animations.getInterpolatedY(sprite, alpha) : animation.getInterpolatedY(alpha);
 
         gl.glEnable(GL.GL_BLEND);
         gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
@@ -115,7 +132,9 @@ public class Players {
         }
 
         // Get current animation frame
-        TextureReader.Texture currentFrame = animation.getCurrentFrame();
+        TextureReader.Texture currentFrame = animations != null
+                ? animation.getFrame(animations.getFrameSlot(sprite))
+                : animation.getCurrentFrame();
 
         if (currentFrame != null) {
             drawTexturedQuad(gl, currentFrame, renderX, renderY);
@@ -133,27 +152,8 @@ public class Players {
     private void drawTexturedQuad(GL gl, TextureReader.Texture texture, float x, float y) {
         gl.glEnable(GL.GL_TEXTURE_2D);
 
-        // Create OpenGL texture if needed
-        int[] textures = new int[1];
-        gl.glGenTextures(1, textures, 0);
-        gl.glBindTexture(GL.GL_TEXTURE_2D, textures[0]);
-
-        // Set texture parameters
-        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
-        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
-
-        // Upload texture data
-        gl.glTexImage2D(
-                GL.GL_TEXTURE_2D,
-                0,
-                GL.GL_RGBA,
-                texture.getWidth(),
-                texture.getHeight(),
-                0,
-                GL.GL_RGBA,
-                GL.GL_UNSIGNED_BYTE,
-                texture.getPixels()
-        );
+        // Upload on first use, then reuse the texture name every frame
+        GLTextureCache.current().bind(gl, texture);
 
         // Draw quad
         float size = SOLDIER_SIZE;
@@ -166,16 +166,26 @@ public class Players {
         gl.glEnd();
 
         gl.glDisable(GL.GL_TEXTURE_2D);
-        gl.glDeleteTextures(1, textures, 0);
     }
 
     /**
-     * Update soldier state each frame
+     * Update soldier state by one 60 Hz frame
      */
     public void update() {
+        update(0.016f);
+    }
+
+    /**
+     * Update soldier state by deltaTime seconds of game time
+     */
+    public void update(float deltaTime) {
+        if (animations != null) {
+            return; // Stepped with the other sprites by AnimationSystem.update()
+        }
+
         // Update animation
         if (animation != null) {
-            animation.update();
+            animation.update(deltaTime);
         }
 
         // Sync position with animation if moving
@@ -213,11 +223,34 @@ public class Players {
         float targetY = boardToScreenY(row);
 
         if (animated) {
-            animation.moveTo(targetX, targetY);
+            if (animations != null) {
+                animations.moveTo(sprite, targetX, targetY);
+            } else {
+                animation.moveTo(targetX, targetY);
+            }
         } else {
-            animation.setPosition(targetX, targetY);
             x = targetX;
             y = targetY;
+            placeAnimation();
+        }
+    }
+
+    /**
+     * Put the animation at (x, y) without a move
+     */
+    private void placeAnimation() {
+        if (animations != null) {
+            animations.setPosition(sprite, x, y);
+        } else {
+            animation.setPosition(x, y);
+        }
+    }
+
+    private void setAnimationType(Animation.AnimationType type) {
+        if (animations != null) {
+            animations.setAnimationType(sprite, type);
+        } else {
+            animation.setAnimationType(type);
         }
     }
 
@@ -399,10 +432,13 @@ public class Players {
      */
     public void setSelected(boolean selected) {
         this.isSelected = selected;
+        if (animations != null) {
+            animations.setReturnToIdle(sprite, !selected);
+        }
         if (selected) {
-            animation.setAnimationType(Animation.AnimationType.SELECTED);
+            setAnimationType(Animation.AnimationType.SELECTED);
         } else {
-            animation.setAnimationType(Animation.AnimationType.IDLE);
+            setAnimationType(Animation.AnimationType.IDLE);
         }
     }
 
@@ -460,16 +496,18 @@ public class Players {
 
     // ==================== GETTERS & SETTERS ====================
 
-    public float getX() { return x; }
+    public float getX() { return animations != null ? animations.getX(sprite) : x; }
     public void setX(float x) {
+        this.y = getY();
         this.x = x;
-        this.animation.setPosition(x, y);
+        placeAnimation();
     }
 
-    public float getY() { return y; }
+    public float getY() { return animations != null ? animations.getY(sprite) : y; }
     public void setY(float y) {
+        this.x = getX();
         this.y = y;
-        this.animation.setPosition(x, y);
+        placeAnimation();
     }
 
     public int getRow() { return row; }
@@ -481,7 +519,7 @@ public class Players {
     public boolean isSelected() { return isSelected; }
     public boolean isHighlighted() { return isHighlighted; }
 
-    public boolean isMoving() { return animation.isMoving(); }
+    public boolean isMoving() { return animations != null ? animations.isMoving(sprite) : animation.isMoving(); }
 
     public int getPlayerID() { return playerID; }
     public void setPlayerID(int playerID) { this.playerID = playerID; }
@@ -509,8 +547,14 @@ public class Players {
         this.isPlaced = false;
         this.isSelected = false;
         this.isHighlighted = false;
-        this.animation.stop();
-        this.animation.setAnimationType(Animation.AnimationType.IDLE);
+        if (animations != null) {
+            animations.setPosition(sprite, getX(), getY()); // Stops a move where it is
+            animations.setReturnToIdle(sprite, true);
+            animations.setAnimationType(sprite, Animation.AnimationType.IDLE);
+        } else {
+            this.animation.stop();
+            this.animation.setAnimationType(Animation.AnimationType.IDLE);
+        }
     }
 
     /**
@@ -518,8 +562,8 @@ public class Players {
      */
     public Players clone() {
         Players copy = new Players(this.duckType, this.playerID);
-        copy.x = this.x;
-        copy.y = this.y;
+        copy.x = getX();
+        copy.y = getY();
         copy.row = this.row;
         copy.col = this.col;
         copy.isPlaced = this.isPlaced;
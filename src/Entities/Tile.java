@@ -6,6 +6,7 @@ public class Tile {
     private int x;
     private int y;
     private int texture;
+    private int sprite = -1; // Region index in a TextureAtlas, used by SpriteBatch instead of texture
     private boolean isHighlighted;
     private boolean isSafe;
 
@@ -23,10 +24,19 @@ public class Tile {
     public int getY() { return y; }
     public void setY(int y) { this.y = y; }
 
+    public int getTexture() { return texture; }
+
+    public int getSprite() { return sprite; }
+    public void setSprite(int sprite) { this.sprite = sprite; }
+
     public void setHighlighted(boolean isHighlighted) {
         this.isHighlighted = isHighlighted;
     }
 
+    public boolean isHighlighted() {
+        return isHighlighted;
+    }
+
     public void setSafe(boolean isSafe) {
         this.isSafe = isSafe;
     }
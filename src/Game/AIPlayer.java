@@ -3,48 +3,145 @@ package Game;
 import Entities.Tile;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
 
 public class AIPlayer {
 
+    public enum SolverMode {
+        BACKTRACKING,   // Exhaustive bitboard search, boards up to MAX_BACKTRACKING_SIZE
+        MIN_CONFLICTS   // Iterative repair, for very large boards
+    }
+
+    // Largest board whose first backtracking solution is found in milliseconds;
+    // bigger boards asking for BACKTRACKING use min-conflicts instead
+    public static final int MAX_BACKTRACKING_SIZE = 29;
+
+    // Boards above this size default to min-conflicts
+    private static final int BACKTRACKING_LIMIT = 20;
+
     private List<Tile> solution = new ArrayList<Tile>();
-    private final int BOARD_SIZE = 8;
+    private final int boardSize;
+    private final SolverMode mode;
+    private QueenSolver solver;
+    private MinConflictsSolver repairSolver;
+    private NearestSolutionFinder nearestFinder;
+
+    public AIPlayer() {
+        this(8);
+    }
+
+    public AIPlayer(int boardSize) {
+        this(boardSize, boardSize <= BACKTRACKING_LIMIT ? SolverMode.BACKTRACKING : SolverMode.MIN_CONFLICTS);
+    }
+
+    /**
+     * AI for the given board; BACKTRACKING above MAX_BACKTRACKING_SIZE runs as
+     * MIN_CONFLICTS, which getSolverMode() reports
+     */
+    public AIPlayer(int boardSize, SolverMode mode) {
+        if (mode == SolverMode.BACKTRACKING && boardSize > MAX_BACKTRACKING_SIZE) {
+            mode = SolverMode.MIN_CONFLICTS; // Backtracking would not finish in useful time
+        }
+        this.boardSize = boardSize;
+        this.mode = mode;
+        if (mode == SolverMode.BACKTRACKING) {
+            this.solver = new QueenSolver(boardSize);
+        } else {
+            this.repairSolver = new MinConflictsSolver(boardSize);
+        }
+    }
 
     public List<Tile> getSolution() {
         return solution;
     }
 
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public SolverMode getSolverMode() {
+        return mode;
+    }
+
     public boolean solve() {
         solution.clear();
-        return solveRecursive(0);
-    }
 
-    private boolean solveRecursive(int col) {
-        if (col >= BOARD_SIZE) {
+        if (mode == SolverMode.BACKTRACKING && SolutionTable.isLoaded(boardSize)) {
+            // The table is in search order, so entry 0 is what the solver would find first
+            SolutionTable table = SolutionTable.forSize(boardSize);
+            if (table.getCount() == 0) {
+                return false;
+            }
+            for (int col = 0; col < boardSize; col++) {
+                solution.add(new Tile(col, table.row(0, col), -1));
+            }
             return true;
         }
 
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            Tile currentQueen = new Tile(col, row, -1);
-
-            if (isSafeToPlace(currentQueen)) {
-                solution.add(currentQueen);
-                if (solveRecursive(col + 1)) {
-                    return true;
-                }
-                solution.remove(solution.size() - 1);
+        int[] placement;
+        if (mode == SolverMode.BACKTRACKING) {
+            if (!solver.solve()) {
+                return false;
+            }
+            placement = solver.getPlacement();
+        } else {
+            if (!repairSolver.solve()) {
+                return false;
             }
+            placement = repairSolver.getPlacement();
+        }
+
+        for (int col = 0; col < boardSize; col++) {
+            solution.add(new Tile(col, placement[col], -1));
         }
-        return false;
+        return true;
     }
 
-    private boolean isSafeToPlace(Tile newQueen) {
-        for (Tile placedQueen : solution) {
-            if (placedQueen.getX() == newQueen.getX() ||
-                    placedQueen.getY() == newQueen.getY() ||
-                    Math.abs(placedQueen.getX() - newQueen.getX()) == Math.abs(placedQueen.getY() - newQueen.getY())) {
-                return false;
-            }
+    /**
+     * Pick a random solution from the precomputed table so the AI does not always play the same board.
+     * Only for boards of up to SolutionTable.MAX_SIZE.
+     */
+    public boolean solveRandom(Random rand) {
+        solution.clear();
+        SolutionTable table = SolutionTable.forSize(boardSize);
+        if (table.getCount() == 0) {
+            return false;
+        }
+
+        int pick = rand.nextInt(table.getCount());
+        for (int col = 0; col < boardSize; col++) {
+            solution.add(new Tile(col, table.row(pick, col), -1));
         }
         return true;
     }
+
+    /**
+     * Plan the fewest drags that turn the given ducks into a solution.
+     * The solution list is filled in duck order with each duck's target square.
+     * @return number of ducks that must move, or -1 if no solution exists
+     */
+    public int planMoves(List<Tile> ducks) {
+        if (nearestFinder == null) {
+            nearestFinder = new NearestSolutionFinder(boardSize);
+        }
+
+        solution.clear();
+        int moves = nearestFinder.find(ducks);
+        if (moves < 0) {
+            return -1;
+        }
+        for (int i = 0; i < ducks.size(); i++) {
+            solution.add(new Tile(nearestFinder.getTargetX(i), nearestFinder.getTargetY(i), -1));
+        }
+        return moves;
+    }
+
+    /**
+     * Stream every solution of an n x n board to the consumer, searched in parallel.
+     * See SolutionEnumerator for the threading and array-reuse contract.
+     */
+    public static long enumerateAll(int n, Consumer<int[]> consumer) {
+        return SolutionEnumerator.enumerateAll(n, consumer);
+    }
 }
@@ -1,18 +1,35 @@
 package Game;
 
 import Board.*;
+import Texture.GLTextureCache;
+import Texture.TextureRegistry;
 import Utils.InputHandler;
-import com.sun.opengl.util.Animator;
+import Utils.RenderScheduler;
+import com.sun.opengl.util.FPSAnimator;
 
 import javax.media.opengl.GLCanvas;
+import javax.media.opengl.GLContext;
 import java.awt.*;
 
 public class GameManager {
 
     private GLCanvas glCanvas;
-    private Animator animator;
+    private BoardListener listener;
+    private RenderScheduler scheduler;
+    private FPSAnimator animator;
     private Player currentPlayer;
 
+    // 0 repaints on demand only; otherwise redraw continuously at this rate
+    private int continuousFps = 0;
+
+    /**
+     * Redraw continuously at a fixed rate instead of on demand (0 to turn off).
+     * Takes effect from the next startGame().
+     */
+    public void setContinuousFps(int fps) {
+        this.continuousFps = Math.max(0, fps);
+    }
+
     // Original method without username (for backward compatibility)
     public void startGame(GameState mode, Container contentPane) {
         startGame(mode, contentPane, "Player 1");
@@ -24,7 +41,7 @@ public class GameManager {
         contentPane.removeAll();
 
         glCanvas = new GLCanvas();
-        BoardListener listener = null;
+        listener = null;
         InputHandler input = null;
 
 
@@ -34,12 +51,14 @@ public class GameManager {
             OnePlayerGLListener oneP = new OnePlayerGLListener(currentPlayer);
             listener = oneP;
             input = new InputHandler(oneP.getDucks());
+            input.addMoveListener(oneP);
 
         } else if (mode == GameState.TWO_PLAYERS) {
 
             TwoPlayerGLListener twoP = new TwoPlayerGLListener();
             listener = twoP;
             input = new InputHandler(twoP.getAllDucks());
+            input.addMoveListener(twoP);
 
         } else if (mode == GameState.AI_MODE) {
             // Create player for AI mode too
@@ -60,6 +79,19 @@ public class GameManager {
             glCanvas.addMouseMotionListener(input);
         }
 
+        if (continuousFps > 0) {
+            animator = new FPSAnimator(glCanvas, continuousFps);
+        } else {
+            scheduler = new RenderScheduler(glCanvas);
+            glCanvas.addMouseListener(scheduler);
+            if (input != null) {
+                input.addMoveListener(scheduler);
+            }
+            if (listener != null) {
+                listener.setRenderScheduler(scheduler);
+            }
+        }
+
 
         contentPane.add(glCanvas, BorderLayout.CENTER);
         contentPane.revalidate();
@@ -67,8 +99,11 @@ public class GameManager {
         glCanvas.requestFocus();
 
 
-        animator = new Animator(glCanvas);
-        animator.start();
+        if (animator != null) {
+            animator.start();
+        } else {
+            scheduler.start();
+        }
     }
 
 
@@ -76,13 +111,45 @@ public class GameManager {
         if (animator != null && animator.isAnimating()) {
             animator.stop();
         }
+        animator = null;
+        if (scheduler != null) {
+            scheduler.stop();
+            scheduler = null;
+        }
+        if (listener != null) {
+            if (glCanvas != null) {
+                disposeGL(listener, glCanvas.getContext());
+            }
+            listener.releaseTextures();
+            listener = null;
+        }
         if (glCanvas != null) {
+            GLTextureCache.dispose(glCanvas.getContext());
             contentPane.remove(glCanvas);
             glCanvas = null;
         }
+        // Nothing holds the mode's images any more
+        SpriteAtlas.trim();
+        TextureRegistry.trim();
         currentPlayer = null;
     }
 
+    /**
+     * Let the board delete its GL objects, making its context current if needed
+     */
+    private static void disposeGL(BoardListener listener, GLContext context) {
+        if (context == null) return;
+        if (GLContext.getCurrent() == context) {
+            listener.disposeGL(context.getGL());
+        } else if (context.makeCurrent() != GLContext.CONTEXT_NOT_CURRENT) {
+            try {
+                listener.disposeGL(context.getGL());
+            } finally {
+                context.release();
+            }
+        }
+    }
+
     // Get current player
     public Player getCurrentPlayer() {
         return currentPlayer;
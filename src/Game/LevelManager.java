@@ -1,4 +1,44 @@
 package Game;
 
+import Entities.Tile;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the random duck layouts each level starts from.
+ * Pass a seeded Random to replay the same sequence of levels.
+ */
 public class LevelManager {
+
+    public static final int BOARD_SIZE = 8;
+
+    private final Random rand;
+
+    public LevelManager() {
+        this(new Random());
+    }
+
+    public LevelManager(Random rand) {
+        this.rand = rand;
+    }
+
+    /**
+     * Add one duck per texture on a random square of the board starting at column xOffset
+     */
+    public void generateLevel(List<Tile> ducks, int[] duckTextures, int xOffset) {
+        generateLevel(ducks, duckTextures, null, xOffset);
+    }
+
+    /**
+     * Same, also giving each duck its atlas sprite index (duckSprites may be null)
+     */
+    public void generateLevel(List<Tile> ducks, int[] duckTextures, int[] duckSprites, int xOffset) {
+        for (int i = 0; i < duckTextures.length; i++) {
+            Tile duck = new Tile(rand.nextInt(BOARD_SIZE) + xOffset, rand.nextInt(BOARD_SIZE), duckTextures[i]);
+            if (duckSprites != null) {
+                duck.setSprite(duckSprites[i]);
+            }
+            ducks.add(duck);
+        }
+    }
 }
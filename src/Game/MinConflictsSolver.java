@@ -0,0 +1,226 @@
+package Game;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Min-conflicts (iterative repair) N-Queens solver for very large boards.
+ * One queen is kept per column; row and diagonal occupancy are tracked in
+ * primitive int counters so the conflict count of any square is O(1).
+ * A greedy start on a row permutation leaves only a handful of diagonal
+ * conflicts, which are then repaired by swapping the rows of a conflicted
+ * queen and a random partner whenever that lowers their conflict count.
+ */
+public class MinConflictsSolver {
+
+    private static final int DEFAULT_RESTARTS = 50;
+    private static final int GREEDY_ATTEMPTS = 8;
+
+    private final int size;
+    private final Random random;
+
+    private final int[] placement;      // placement[col] = row of the queen
+    private final int[] rowCount;
+    private final int[] risingCount;    // indexed by row + col
+    private final int[] fallingCount;   // indexed by row - col + size - 1
+
+    // Scratch arrays reused across solves
+    private final int[] freeRows;
+    private final int[] conflicted;
+    private int conflictedCount;
+
+    private int steps;
+
+    public MinConflictsSolver(int size) {
+        this(size, new Random());
+    }
+
+    public MinConflictsSolver(int size, long seed) {
+        this(size, new Random(seed));
+    }
+
+    private MinConflictsSolver(int size, Random random) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Board size must be positive: " + size);
+        }
+        this.size = size;
+        this.random = random;
+        this.placement = new int[size];
+        this.rowCount = new int[size];
+        this.risingCount = new int[2 * size - 1];
+        this.fallingCount = new int[2 * size - 1];
+        this.freeRows = new int[size];
+        this.conflicted = new int[size];
+    }
+
+    /**
+     * Search with a step budget of DEFAULT_RESTARTS restart intervals, which grows with the board
+     */
+    public boolean solve() {
+        long budget = (long) DEFAULT_RESTARTS * restartInterval();
+        return solve((int) Math.min(Integer.MAX_VALUE, budget));
+    }
+
+    /**
+     * Search for a solution, restarting from a fresh greedy board when progress stalls
+     * @param maxSteps total number of swap attempts allowed across all restarts
+     */
+    public boolean solve(int maxSteps) {
+        steps = 0;
+        if (size == 2 || size == 3) {
+            return false; // No solution exists, so do not spend the budget proving it
+        }
+        int restartInterval = restartInterval();
+
+        while (steps < maxSteps) {
+            initialize();
+            int attemptEnd = Math.min(maxSteps, steps + restartInterval);
+
+            while (steps < attemptEnd) {
+                int col = pickConflictedColumn();
+                if (col < 0) {
+                    return true;
+                }
+                trySwap(col);
+                steps++;
+            }
+        }
+        return false;
+    }
+
+    private int restartInterval() {
+        return 20 * size + 1000;
+    }
+
+    // ==================== INITIALIZATION ====================
+
+    /**
+     * Place queens column by column, preferring unused rows that are free on both diagonals
+     */
+    private void initialize() {
+        Arrays.fill(rowCount, 0);
+        Arrays.fill(risingCount, 0);
+        Arrays.fill(fallingCount, 0);
+        for (int i = 0; i < size; i++) {
+            freeRows[i] = i;
+        }
+
+        int remaining = size;
+        for (int col = 0; col < size; col++) {
+            int pick = 0;
+            for (int attempt = 0; attempt < GREEDY_ATTEMPTS; attempt++) {
+                pick = random.nextInt(remaining);
+                int row = freeRows[pick];
+                if (risingCount[row + col] == 0 && fallingCount[row - col + size - 1] == 0) {
+                    break;
+                }
+            }
+
+            int row = freeRows[pick];
+            freeRows[pick] = freeRows[remaining - 1];
+            remaining--;
+            place(col, row);
+        }
+        conflictedCount = 0;
+    }
+
+    // ==================== REPAIR ====================
+
+    /**
+     * Random conflicted column, or -1 if the board is solved.
+     * The list is refreshed lazily: entries that became safe are dropped,
+     * and a full rescan only happens once the list runs dry.
+     */
+    private int pickConflictedColumn() {
+        while (true) {
+            while (conflictedCount > 0) {
+                int index = random.nextInt(conflictedCount);
+                int col = conflicted[index];
+                if (conflicts(col, placement[col]) > 0) {
+                    return col;
+                }
+                conflicted[index] = conflicted[--conflictedCount];
+            }
+
+            for (int col = 0; col < size; col++) {
+                if (conflicts(col, placement[col]) > 0) {
+                    conflicted[conflictedCount++] = col;
+                }
+            }
+            if (conflictedCount == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Swap the queen's row with another column's if that lowers their combined conflicts.
+     * Swapping keeps one queen per row, so only diagonal conflicts are ever repaired.
+     */
+    private void trySwap(int col) {
+        int other = random.nextInt(size);
+        if (other == col) {
+            return;
+        }
+
+        int row = placement[col];
+        int otherRow = placement[other];
+        int before = conflicts(col, row) + conflicts(other, otherRow);
+
+        remove(col, row);
+        remove(other, otherRow);
+        place(col, otherRow);
+        place(other, row);
+
+        int after = conflicts(col, otherRow) + conflicts(other, row);
+        if (after >= before) {
+            remove(col, otherRow);
+            remove(other, row);
+            place(col, row);
+            place(other, otherRow);
+        }
+    }
+
+    /**
+     * Number of other queens attacking the square, excluding the queen already in this column
+     */
+    private int conflicts(int col, int row) {
+        int c = rowCount[row] + risingCount[row + col] + fallingCount[row - col + size - 1];
+        return placement[col] == row ? c - 3 : c;
+    }
+
+    private void place(int col, int row) {
+        placement[col] = row;
+        rowCount[row]++;
+        risingCount[row + col]++;
+        fallingCount[row - col + size - 1]++;
+    }
+
+    private void remove(int col, int row) {
+        rowCount[row]--;
+        risingCount[row + col]--;
+        fallingCount[row - col + size - 1]--;
+        placement[col] = -1;
+    }
+
+    // ==================== GETTERS ====================
+
+    /**
+     * Row of the queen in each column for the last solve.
+     * The array is owned by the solver and overwritten by the next search.
+     */
+    public int[] getPlacement() {
+        return placement;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Swap attempts used by the last solve
+     */
+    public int getSteps() {
+        return steps;
+    }
+}
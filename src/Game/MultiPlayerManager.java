@@ -1,4 +1,93 @@
 package Game;
 
-public class MultiPlayerManager {
+import Entities.Tile;
+import Utils.ConflictDetector;
+import Utils.DuckMoveListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless rules of the two-player mode: one board per player side by side,
+ * and the first player to solve their board wins. Driven by tick() like
+ * OnePlayerSession, so matches can run without an OpenGL context.
+ */
+public class MultiPlayerManager implements DuckMoveListener {
+
+    public static final long MATCH_TIME = 120000; // 2 minutes per match
+
+    private final List<Tile> allDucks = new ArrayList<Tile>();
+    private final List<Tile> player1Ducks = new ArrayList<Tile>();
+    private final List<Tile> player2Ducks = new ArrayList<Tile>();
+    private final ConflictDetector player1Conflicts = new ConflictDetector();
+    private final ConflictDetector player2Conflicts = new ConflictDetector();
+    private final LevelManager levelManager;
+
+    private long timeRemaining = MATCH_TIME;
+    private String winner = "";
+
+    public MultiPlayerManager() {
+        this(new Random());
+    }
+
+    public MultiPlayerManager(Random rand) {
+        this.levelManager = new LevelManager(rand);
+    }
+
+    /**
+     * Generate both boards; player 2's board starts at column 8
+     * @param duckTextures one texture per duck, or -1 entries when running headless
+     */
+    public void start(int[] duckTextures) {
+        levelManager.generateLevel(player1Ducks, duckTextures, 0);
+        levelManager.generateLevel(player2Ducks, duckTextures, LevelManager.BOARD_SIZE);
+        allDucks.addAll(player1Ducks);
+        allDucks.addAll(player2Ducks);
+        player1Conflicts.update(player1Ducks);
+        player2Conflicts.update(player2Ducks);
+        timeRemaining = MATCH_TIME;
+    }
+
+    public void duckMoved(Tile duck, int fromX, int fromY) {
+        if (player1Ducks.contains(duck)) {
+            player1Conflicts.moveDuck(duck, fromX, fromY);
+        } else if (player2Ducks.contains(duck)) {
+            player2Conflicts.moveDuck(duck, fromX, fromY);
+        }
+    }
+
+    /**
+     * Bring the ducks' safe flags up to date with moves made since the last tick;
+     * call before drawing, as a frame may run no tick at all
+     */
+    public void refreshConflicts() {
+        player1Conflicts.refresh();
+        player2Conflicts.refresh();
+    }
+
+    /**
+     * Advance the match by the given time and apply the rules
+     * @return the winner message, or an empty string while the match is running
+     */
+    public String tick(long deltaMillis) {
+        if (!winner.isEmpty()) {
+            return winner;
+        }
+
+        timeRemaining = Math.max(0, timeRemaining - deltaMillis);
+        player1Conflicts.refresh();
+        player2Conflicts.refresh();
+
+        if (player1Conflicts.isSolved()) winner = "Player 1 Wins!";
+        if (player2Conflicts.isSolved()) winner = "Player 2 Wins!";
+        return winner;
+    }
+
+    // ==================== GETTERS ====================
+
+    public List<Tile> getAllDucks() { return allDucks; }
+    public List<Tile> getPlayer1Ducks() { return player1Ducks; }
+    public List<Tile> getPlayer2Ducks() { return player2Ducks; }
+    public long getTimeRemaining() { return timeRemaining; }
+    public String getWinner() { return winner; }
 }
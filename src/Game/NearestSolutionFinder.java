@@ -0,0 +1,228 @@
+package Game;
+
+import Entities.Tile;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the valid configuration that is the fewest drags away from the current ducks.
+ * Every solution in the SolutionTable is held as a 64-bit square mask, so the
+ * number of ducks already standing on a solution square is a single bitCount.
+ * Only the solutions tied for fewest moves are then matched duck-to-square
+ * with the Hungarian algorithm, which breaks ties by total travel distance
+ * and tells each duck where to go.
+ */
+public class NearestSolutionFinder {
+
+    // A drag always costs more than any amount of travel on an 8x8 board
+    private static final int MOVE_COST = 1 << 8;
+
+    private final int boardSize;
+    private final SolutionTable table;
+    private final long[] solutionMasks;
+    private final int[] candidate;     // candidate[col] = row of the solution being matched
+
+    // Result of the last find()
+    private int moves = -1;
+    private final int[] bestSolution;
+    private final int[] targetX;
+    private final int[] targetY;
+
+    // Hungarian scratch space, 1-based as in the textbook formulation
+    private final int[][] cost;
+    private final int[] u, v, p, way, minv;
+    private final boolean[] used;
+    private final int[] assignment;
+
+    public NearestSolutionFinder() {
+        this(8);
+    }
+
+    public NearestSolutionFinder(int boardSize) {
+        if (boardSize < 1 || boardSize * boardSize > Long.SIZE) {
+            throw new IllegalArgumentException("Board must fit in 64 squares: " + boardSize);
+        }
+        this.boardSize = boardSize;
+
+        this.table = SolutionTable.forSize(boardSize);
+        this.solutionMasks = new long[table.getCount()];
+        for (int i = 0; i < solutionMasks.length; i++) {
+            solutionMasks[i] = table.squareMask(i);
+        }
+        this.candidate = new int[boardSize];
+        this.bestSolution = new int[boardSize];
+
+        this.targetX = new int[boardSize];
+        this.targetY = new int[boardSize];
+        int m = boardSize + 1;
+        this.cost = new int[m][m];
+        this.u = new int[m];
+        this.v = new int[m];
+        this.p = new int[m];
+        this.way = new int[m];
+        this.minv = new int[m];
+        this.used = new boolean[m];
+        this.assignment = new int[boardSize];
+    }
+
+    /**
+     * Find the nearest solution for ducks on a board starting at column 0
+     */
+    public int find(List<Tile> ducks) {
+        return find(ducks, 0);
+    }
+
+    /**
+     * Find the nearest solution for ducks whose board starts at column xOffset
+     * (8 for the right-hand board in two-player mode).
+     * @return minimum number of ducks that must be moved, or -1 if the board has no solution
+     */
+    public int find(List<Tile> ducks, int xOffset) {
+        if (ducks.size() != boardSize) {
+            throw new IllegalArgumentException("Expected " + boardSize + " ducks, got " + ducks.size());
+        }
+
+        long occupied = 0;
+        for (Tile duck : ducks) {
+            int x = duck.getX() - xOffset;
+            int y = duck.getY();
+            if (x >= 0 && x < boardSize && y >= 0 && y < boardSize) {
+                occupied |= 1L << (y * boardSize + x);
+            }
+        }
+
+        // Each occupied solution square keeps one duck in place; everything else moves
+        int bestHits = -1;
+        for (long mask : solutionMasks) {
+            bestHits = Math.max(bestHits, Long.bitCount(mask & occupied));
+        }
+        if (bestHits < 0) {
+            moves = -1;
+            return -1;
+        }
+
+        int bestTravel = Integer.MAX_VALUE;
+        for (int i = 0; i < solutionMasks.length; i++) {
+            if (Long.bitCount(solutionMasks[i] & occupied) != bestHits) {
+                continue;
+            }
+            table.copySolution(i, candidate);
+            int total = match(ducks, xOffset, candidate);
+            if (total < bestTravel) {
+                bestTravel = total;
+                System.arraycopy(candidate, 0, bestSolution, 0, boardSize);
+                for (int d = 0; d < boardSize; d++) {
+                    targetX[d] = assignment[d] + xOffset;
+                    targetY[d] = candidate[assignment[d]];
+                }
+            }
+        }
+
+        moves = boardSize - bestHits;
+        return moves;
+    }
+
+    // ==================== ASSIGNMENT ====================
+
+    /**
+     * Minimum-cost assignment of ducks to the solution's queens (Hungarian algorithm).
+     * Fills assignment[duck] = column of its target and returns the total cost.
+     */
+    private int match(List<Tile> ducks, int xOffset, int[] solution) {
+        int n = boardSize;
+        for (int d = 0; d < n; d++) {
+            Tile duck = ducks.get(d);
+            int x = duck.getX() - xOffset;
+            int y = duck.getY();
+            for (int col = 0; col < n; col++) {
+                int dx = Math.abs(x - col);
+                int dy = Math.abs(y - solution[col]);
+                cost[d + 1][col + 1] = (dx == 0 && dy == 0) ? 0 : MOVE_COST + dx + dy;
+            }
+        }
+
+        Arrays.fill(u, 0);
+        Arrays.fill(v, 0);
+        Arrays.fill(p, 0);
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Integer.MAX_VALUE);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                int delta = Integer.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= n; j++) {
+                    if (!used[j]) {
+                        int cur = cost[i0][j] - u[i0] - v[j];
+                        if (cur < minv[j]) {
+                            minv[j] = cur;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= n; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int total = 0;
+        for (int j = 1; j <= n; j++) {
+            assignment[p[j] - 1] = j - 1;
+            total += cost[p[j]][j];
+        }
+        return total;
+    }
+
+    // ==================== RESULTS ====================
+
+    /**
+     * Minimum number of ducks to move, from the last find()
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Target solution from the last find(), as row per column (null if none)
+     */
+    public int[] getSolution() {
+        return moves < 0 ? null : bestSolution;
+    }
+
+    /**
+     * Board column the duck at this index should move to
+     */
+    public int getTargetX(int duck) {
+        return targetX[duck];
+    }
+
+    /**
+     * Board row the duck at this index should move to
+     */
+    public int getTargetY(int duck) {
+        return targetY[duck];
+    }
+
+    public int getSolutionCount() {
+        return solutionMasks.length;
+    }
+}
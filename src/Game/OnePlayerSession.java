@@ -0,0 +1,126 @@
+package Game;
+
+import Entities.Tile;
+import Utils.ConflictDetector;
+import Utils.DuckMoveListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless rules of the one-player mode: level timer, lives, score,
+ * level generation and solve detection. Time only advances through tick(),
+ * so sessions run without an OpenGL context or wall clock; the GL listener
+ * just ticks it once per frame and draws the result.
+ */
+public class OnePlayerSession implements DuckMoveListener {
+
+    public enum TickResult {
+        NONE,       // Nothing happened this tick
+        SOLVED,     // Board solved, score added and a new level started
+        TIME_UP,    // Time ran out, a life was lost and a new level started
+        GAME_OVER   // Time ran out on the last life
+    }
+
+    public static final int DUCK_COUNT = 8;
+    public static final long LEVEL_TIME = 60000; // 60 seconds per level
+
+    private final List<Tile> ducks = new ArrayList<Tile>();
+    private final ConflictDetector conflicts = new ConflictDetector(LevelManager.BOARD_SIZE, LevelManager.BOARD_SIZE);
+    private final LevelManager levelManager;
+    private int[] duckTextures;
+    private int[] duckSprites;
+
+    private long timeRemaining = LEVEL_TIME;
+    private int lives;
+    private int score;
+    private int boardsSolved = 0;
+    private boolean isGameOver = false;
+
+    public OnePlayerSession(int lives, int score) {
+        this(lives, score, new Random());
+    }
+
+    public OnePlayerSession(int lives, int score, Random rand) {
+        this.lives = lives;
+        this.score = score;
+        this.levelManager = new LevelManager(rand);
+    }
+
+    /**
+     * Generate the first level and start its timer
+     * @param duckTextures one texture per duck, or -1 entries when running headless
+     */
+    public void start(int[] duckTextures) {
+        start(duckTextures, null);
+    }
+
+    /**
+     * Same, for boards that draw the ducks from a sprite atlas
+     * @param duckSprites atlas sprite index of each duck, or null
+     */
+    public void start(int[] duckTextures, int[] duckSprites) {
+        this.duckTextures = duckTextures;
+        this.duckSprites = duckSprites;
+        newLevel();
+    }
+
+    private void newLevel() {
+        ducks.clear();
+        levelManager.generateLevel(ducks, duckTextures, duckSprites, 0);
+        conflicts.update(ducks);
+        timeRemaining = LEVEL_TIME;
+    }
+
+    public void duckMoved(Tile duck, int fromX, int fromY) {
+        conflicts.moveDuck(duck, fromX, fromY);
+    }
+
+    /**
+     * Bring the ducks' safe flags up to date with moves made since the last tick;
+     * call before drawing, as a frame may run no tick at all
+     */
+    public void refreshConflicts() {
+        conflicts.refresh();
+    }
+
+    /**
+     * Advance the session by the given time and apply the rules
+     */
+    public TickResult tick(long deltaMillis) {
+        if (isGameOver) {
+            return TickResult.NONE;
+        }
+
+        timeRemaining = Math.max(0, timeRemaining - deltaMillis);
+        conflicts.refresh();
+
+        // Check if player won FIRST (before checking time)
+        if (conflicts.isSolved() && ducks.size() == DUCK_COUNT) {
+            score += (int) (timeRemaining / 1000);
+            boardsSolved++;
+            newLevel();
+            return TickResult.SOLVED;
+        }
+
+        if (timeRemaining <= 0) {
+            lives--;
+            if (lives <= 0) {
+                isGameOver = true;
+                return TickResult.GAME_OVER;
+            }
+            newLevel();
+            return TickResult.TIME_UP;
+        }
+        return TickResult.NONE;
+    }
+
+    // ==================== GETTERS ====================
+
+    public List<Tile> getDucks() { return ducks; }
+    public long getTimeRemaining() { return timeRemaining; }
+    public int getLives() { return lives; }
+    public int getScore() { return score; }
+    public int getBoardsSolved() { return boardsSolved; }
+    public boolean isGameOver() { return isGameOver; }
+}
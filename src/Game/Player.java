@@ -1,6 +1,8 @@
 package Game;
 
+import Entities.AnimationSystem;
 import Entities.Players;
+import javax.media.opengl.GL;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +28,7 @@ public class Player extends Players {
 
     // ==================== PLAYER'S SOLDIERS ====================
     private Players[] soldiers;  // The 8 duck soldiers for this player
+    private final AnimationSystem soldierAnimations = new AnimationSystem(SOLDIERS_COUNT);
     private int soldiersPlaced;
 
     // ==================== STATISTICS ====================
@@ -92,6 +95,7 @@ public class Player extends Players {
         soldiers = new Players[SOLDIERS_COUNT];
         for (int i = 0; i < SOLDIERS_COUNT; i++) {
             soldiers[i] = new Players(i + 1, playerID); // Duck types 1-8
+            soldiers[i].attach(soldierAnimations);
         }
     }
 
@@ -411,15 +415,24 @@ public class Player extends Players {
     }
 
     /**
-     * Update player state (call each frame)
+     * Update player state by one simulation step
+     * @param deltaTime step length in milliseconds, e.g. GameClock.getStepMillis()
      */
     public void update(long deltaTime) {
         updateTime(deltaTime);
 
-        // Update all soldiers
+        // Update all soldiers in one pass
+        soldierAnimations.update(deltaTime / 1000f);
+    }
+
+    /**
+     * Draw the soldiers between their last two simulated positions
+     * @param alpha GameClock.getAlpha() of the frame being drawn
+     */
+    public void draw(GL gl, float alpha) {
         for (Players soldier : soldiers) {
             if (soldier != null) {
-                soldier.update();
+                soldier.draw(gl, alpha);
             }
         }
     }
@@ -0,0 +1,122 @@
+package Game;
+
+/**
+ * Allocation-free N-Queens backtracking engine.
+ * Columns are filled left to right; occupied rows and both diagonals
+ * are tracked as long bitmasks, so boards of up to 64 squares per side
+ * fit and every probe is a handful of bit operations. The search itself is
+ * exponential: a first solution takes milliseconds up to n = 29, about a
+ * second at n = 32 and longer than 30 seconds from n = 34, so callers that
+ * need an answer (AIPlayer) only backtrack up to AIPlayer.MAX_BACKTRACKING_SIZE.
+ */
+public class QueenSolver {
+
+    public static final int MAX_BOARD_SIZE = 64;
+
+    private final int size;
+    private final long fullMask;
+
+    // Search state, indexed by column (depth)
+    private final long[] available;      // Rows still to try in this column
+    private final long[] rows;           // Rows taken by the queens to the left
+    private final long[] risingDiagonals;  // Attacked rows coming from "/" diagonals
+    private final long[] fallingDiagonals; // Attacked rows coming from "\" diagonals
+    private final int[] placement;       // placement[col] = row of the queen
+
+    private int depth;
+
+    public QueenSolver(int size) {
+        if (size < 1 || size > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_BOARD_SIZE + ": " + size);
+        }
+        this.size = size;
+        this.fullMask = size == MAX_BOARD_SIZE ? -1L : (1L << size) - 1;
+        this.available = new long[size];
+        this.rows = new long[size];
+        this.risingDiagonals = new long[size];
+        this.fallingDiagonals = new long[size];
+        this.placement = new int[size];
+        reset();
+    }
+
+    /**
+     * Find the first solution, starting from an empty board
+     */
+    public boolean solve() {
+        reset();
+        return next();
+    }
+
+    /**
+     * Restart the search from an empty board
+     */
+    public void reset() {
+        start(fullMask);
+    }
+
+    /**
+     * Restart the search with the queen of the first column fixed on the given row
+     */
+    public void reset(int firstRow) {
+        if (firstRow < 0 || firstRow >= size) {
+            throw new IllegalArgumentException("Row out of range: " + firstRow);
+        }
+        start(1L << firstRow);
+    }
+
+    private void start(long firstColumnCandidates) {
+        depth = 0;
+        rows[0] = 0;
+        risingDiagonals[0] = 0;
+        fallingDiagonals[0] = 0;
+        available[0] = firstColumnCandidates;
+    }
+
+    /**
+     * Advance to the next solution.
+     * @return true if a new solution is now available through getPlacement()
+     */
+    public boolean next() {
+        int d = depth;
+        while (d >= 0) {
+            long candidates = available[d];
+            if (candidates == 0) {
+                d--;
+                continue;
+            }
+
+            long bit = candidates & -candidates;
+            available[d] = candidates ^ bit;
+            placement[d] = Long.numberOfTrailingZeros(bit);
+
+            if (d == size - 1) {
+                depth = d;
+                return true;
+            }
+
+            long taken = rows[d] | bit;
+            long rising = ((risingDiagonals[d] | bit) << 1) & fullMask;
+            long falling = (fallingDiagonals[d] | bit) >>> 1;
+
+            d++;
+            rows[d] = taken;
+            risingDiagonals[d] = rising;
+            fallingDiagonals[d] = falling;
+            available[d] = fullMask & ~(taken | rising | falling);
+        }
+        depth = -1;
+        return false;
+    }
+
+    /**
+     * Row of the queen in each column for the current solution.
+     * The array is owned by the solver and overwritten by the next search.
+     */
+    public int[] getPlacement() {
+        return placement;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
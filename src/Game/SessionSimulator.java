@@ -0,0 +1,89 @@
+package Game;
+
+import Entities.Tile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs one-player sessions headlessly as fast as the CPU allows, for load
+ * testing and replay checks. A simple bot drags one duck per tick toward
+ * the nearest solution, and every few levels it idles until time runs out
+ * so the life-losing path is exercised too.
+ *
+ * Usage: java Game.SessionSimulator [sessions] [seed]
+ */
+public class SessionSimulator {
+
+    private static final long TICK = 16;            // One 60 Hz frame
+    private static final int IDLE_EVERY_N_LEVELS = 4;
+
+    private final Random rand;
+    private final NearestSolutionFinder finder = new NearestSolutionFinder();
+
+    public SessionSimulator(long seed) {
+        this.rand = new Random(seed);
+    }
+
+    /**
+     * Play one session to game over
+     * @return the finished session
+     */
+    public OnePlayerSession run() {
+        OnePlayerSession session = new OnePlayerSession(3, 0, new Random(rand.nextLong()));
+        int[] textures = new int[OnePlayerSession.DUCK_COUNT];
+        Arrays.fill(textures, -1);
+        session.start(textures);
+
+        int level = 0;
+        while (!session.isGameOver()) {
+            boolean idle = level % IDLE_EVERY_N_LEVELS == IDLE_EVERY_N_LEVELS - 1;
+            if (!idle) {
+                moveOneDuck(session);
+            }
+
+            OnePlayerSession.TickResult result = session.tick(TICK);
+            if (result != OnePlayerSession.TickResult.NONE) {
+                level++;
+            }
+        }
+        return session;
+    }
+
+    private void moveOneDuck(OnePlayerSession session) {
+        List<Tile> ducks = session.getDucks();
+        if (finder.find(ducks) <= 0) {
+            return;
+        }
+        for (int i = 0; i < ducks.size(); i++) {
+            Tile duck = ducks.get(i);
+            int fromX = duck.getX();
+            int fromY = duck.getY();
+            if (fromX != finder.getTargetX(i) || fromY != finder.getTargetY(i)) {
+                duck.setX(finder.getTargetX(i));
+                duck.setY(finder.getTargetY(i));
+                session.duckMoved(duck, fromX, fromY);
+                return;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+        SessionSimulator simulator = new SessionSimulator(seed);
+        long totalScore = 0;
+        long totalBoards = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            OnePlayerSession session = simulator.run();
+            totalScore += session.getScore();
+            totalBoards += session.getBoardsSolved();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d sessions in %.2fs (%.0f sessions/s), %d boards solved, total score %d%n",
+                sessions, seconds, sessions / seconds, totalBoards, totalScore);
+    }
+}
@@ -0,0 +1,117 @@
+package Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Enumerates every N-Queens solution in parallel.
+ * The first column's rows are split across a ForkJoinPool, and only the
+ * lower half of them is searched: every solution found there is also
+ * reported mirrored top-to-bottom, which covers the upper half for free.
+ */
+public class SolutionEnumerator {
+
+    private SolutionEnumerator() {
+    }
+
+    /**
+     * Stream all solutions of an n x n board to the consumer using the common pool
+     * @return number of solutions reported
+     */
+    public static long enumerateAll(int n, Consumer<int[]> consumer) {
+        return enumerateAll(n, consumer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Stream all solutions of an n x n board to the consumer.
+     * The consumer is called concurrently from the pool's worker threads with
+     * placement[col] = row; the array is reused, so copy it if it must be kept.
+     * @return number of solutions reported
+     */
+    public static long enumerateAll(int n, Consumer<int[]> consumer, ForkJoinPool pool) {
+        if (n < 1 || n > QueenSolver.MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + QueenSolver.MAX_BOARD_SIZE + ": " + n);
+        }
+        return pool.invoke(new EnumerateTask(n, consumer));
+    }
+
+    // ==================== TASKS ====================
+
+    /**
+     * Forks one search per first-column row in the lower half of the board
+     */
+    private static class EnumerateTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+        private final Consumer<int[]> consumer;
+
+        EnumerateTask(int n, Consumer<int[]> consumer) {
+            this.n = n;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected Long compute() {
+            List<FirstRowTask> tasks = new ArrayList<FirstRowTask>();
+            for (int row = 0; row < n / 2; row++) {
+                tasks.add(new FirstRowTask(n, row, true, consumer));
+            }
+            if (n % 2 == 1) {
+                // The middle row is its own mirror image, so search it without reflecting
+                tasks.add(new FirstRowTask(n, n / 2, false, consumer));
+            }
+
+            long total = 0;
+            for (FirstRowTask task : invokeAll(tasks)) {
+                total += task.join();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Enumerates the solutions whose first-column queen sits on a fixed row
+     */
+    private static class FirstRowTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+        private final int firstRow;
+        private final boolean reportMirror;
+        private final Consumer<int[]> consumer;
+
+        FirstRowTask(int n, int firstRow, boolean reportMirror, Consumer<int[]> consumer) {
+            this.n = n;
+            this.firstRow = firstRow;
+            this.reportMirror = reportMirror;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected Long compute() {
+            QueenSolver solver = new QueenSolver(n);
+            solver.reset(firstRow);
+            int[] placement = solver.getPlacement();
+            int[] mirror = new int[n];
+
+            long count = 0;
+            while (solver.next()) {
+                consumer.accept(placement);
+                count++;
+
+                if (reportMirror) {
+                    for (int col = 0; col < n; col++) {
+                        mirror[col] = n - 1 - placement[col];
+                    }
+                    consumer.accept(mirror);
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package Game;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed, bit-packed table of every N-Queens solution for small boards.
+ * Each solution is one long holding the row of every column in 4-bit nibbles.
+ * For each square the table also keeps a bitset of the solutions that use it,
+ * so "which solutions keep these queens fixed" is a word-wise AND of a few
+ * bitsets and never allocates. Only the 8x8 table ships as a constant and
+ * is ready at startup; other sizes are enumerated the first time forSize()
+ * asks for them, which takes milliseconds up to n = 11 but about half a
+ * second at n = 14. Queries are constant-time once a table exists.
+ * Board-mask queries need every square in one long, so boards up to 8x8 only.
+ */
+public final class SolutionTable {
+
+    public static final int MAX_SIZE = 14;
+    public static final int DEFAULT_SIZE = 8;
+
+    private static final int BITS_PER_ROW = 4;
+    private static final long ROW_MASK = (1L << BITS_PER_ROW) - 1;
+
+    // All 92 eight-queens solutions in search order, column 0 in the lowest nibble
+    private static final long[] EIGHT_QUEENS = {
+            0x31625740L, 0x41362750L, 0x24175360L, 0x25317460L,
+            0x46027531L, 0x35720641L, 0x25703641L, 0x42736051L,
+            0x46302751L, 0x30475261L, 0x25307461L, 0x36420571L,
+            0x53174602L, 0x53607142L, 0x06357142L, 0x57130642L,
+            0x51603742L, 0x36074152L, 0x47306152L, 0x37046152L,
+            0x16470352L, 0x06471352L, 0x14630752L, 0x31640752L,
+            0x46031752L, 0x53047162L, 0x40357162L, 0x41506372L,
+            0x52617403L, 0x16257403L, 0x62057413L, 0x40752613L,
+            0x04752613L, 0x25704613L, 0x52064713L, 0x64205713L,
+            0x62714053L, 0x42061753L, 0x14602753L, 0x25147063L,
+            0x50417263L, 0x72051463L, 0x17502463L, 0x46152073L,
+            0x25164073L, 0x51602473L, 0x26175304L, 0x52613704L,
+            0x31625704L, 0x60275314L, 0x05726314L, 0x27360514L,
+            0x52630714L, 0x63175024L, 0x35716024L, 0x15063724L,
+            0x13572064L, 0x25713064L, 0x52073164L, 0x73025164L,
+            0x37025164L, 0x15720364L, 0x61520374L, 0x25160374L,
+            0x36271405L, 0x37420615L, 0x24730615L, 0x31746025L,
+            0x46137025L, 0x63147025L, 0x71306425L, 0x61307425L,
+            0x40731625L, 0x30471625L, 0x41703625L, 0x26174035L,
+            0x20647135L, 0x71420635L, 0x24170635L, 0x24603175L,
+            0x41357206L, 0x52470316L, 0x47302516L, 0x31475026L,
+            0x35041726L, 0x52074136L, 0x42057136L, 0x31750246L,
+            0x52460317L, 0x53602417L, 0x36415027L, 0x46152037L
+    };
+
+    private static final SolutionTable[] TABLES = new SolutionTable[MAX_SIZE + 1];
+
+    static {
+        TABLES[DEFAULT_SIZE] = new SolutionTable(DEFAULT_SIZE, EIGHT_QUEENS);
+    }
+
+    private final int size;
+    private final long[] packed;
+    private final int words;        // longs per solution bitset
+    private final long[] index;     // index[square * words + w], square = row * size + col
+    private final long[] sortedMasks; // square masks in ascending order, boards up to 8x8 only
+
+    private SolutionTable(int size, long[] packed) {
+        this.size = size;
+        this.packed = packed;
+        this.words = (packed.length + Long.SIZE - 1) / Long.SIZE;
+        this.index = new long[size * size * words];
+
+        for (int s = 0; s < packed.length; s++) {
+            for (int col = 0; col < size; col++) {
+                int square = row(s, col) * size + col;
+                index[square * words + (s >>> 6)] |= 1L << s;
+            }
+        }
+
+        if (size * size <= Long.SIZE) {
+            sortedMasks = new long[packed.length];
+            for (int s = 0; s < packed.length; s++) {
+                sortedMasks[s] = mask(s);
+            }
+            Arrays.sort(sortedMasks);
+        } else {
+            sortedMasks = null;
+        }
+    }
+
+    /**
+     * Table for an n x n board, building it on first use for sizes other than 8.
+     * Ask from a background thread first for big boards, or check isLoaded().
+     */
+    public static synchronized SolutionTable forSize(int n) {
+        if (n < 1 || n > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIZE + ": " + n);
+        }
+        if (TABLES[n] == null) {
+            TABLES[n] = build(n);
+        }
+        return TABLES[n];
+    }
+
+    /**
+     * Whether the table for this size is already in memory (8x8 always is)
+     */
+    public static synchronized boolean isLoaded(int n) {
+        return n >= 1 && n <= MAX_SIZE && TABLES[n] != null;
+    }
+
+    private static SolutionTable build(int n) {
+        QueenSolver solver = new QueenSolver(n);
+        long[] packed = new long[16];
+        int count = 0;
+        while (solver.next()) {
+            if (count == packed.length) {
+                packed = Arrays.copyOf(packed, count * 2);
+            }
+            packed[count++] = pack(solver.getPlacement());
+        }
+        return new SolutionTable(n, Arrays.copyOf(packed, count));
+    }
+
+    private static long pack(int[] placement) {
+        long value = 0;
+        for (int col = 0; col < placement.length; col++) {
+            value |= (long) placement[col] << (col * BITS_PER_ROW);
+        }
+        return value;
+    }
+
+    // ==================== SOLUTIONS ====================
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCount() {
+        return packed.length;
+    }
+
+    /**
+     * Row of the queen in the given column of a solution
+     */
+    public int row(int solution, int col) {
+        return (int) ((packed[solution] >>> (col * BITS_PER_ROW)) & ROW_MASK);
+    }
+
+    /**
+     * Unpack a solution into dest[col] = row
+     */
+    public void copySolution(int solution, int[] dest) {
+        long value = packed[solution];
+        for (int col = 0; col < size; col++) {
+            dest[col] = (int) (value & ROW_MASK);
+            value >>>= BITS_PER_ROW;
+        }
+    }
+
+    /**
+     * Solution as a board mask with bit (row * size + col) set per queen. Boards up to 8x8 only.
+     */
+    public long squareMask(int solution) {
+        requireMasks();
+        return mask(solution);
+    }
+
+    private long mask(int solution) {
+        long mask = 0;
+        long value = packed[solution];
+        for (int col = 0; col < size; col++) {
+            mask |= 1L << ((int) (value & ROW_MASK) * size + col);
+            value >>>= BITS_PER_ROW;
+        }
+        return mask;
+    }
+
+    /**
+     * Whether the board mask is exactly one of the solutions. Boards up to 8x8 only.
+     */
+    public boolean isSolution(long squareMask) {
+        requireMasks();
+        return Arrays.binarySearch(sortedMasks, squareMask) >= 0;
+    }
+
+    // ==================== PARTIAL PLACEMENT QUERIES ====================
+
+    /**
+     * Number of solutions that contain every queen in the board mask. Boards up to 8x8 only.
+     */
+    public int countConsistent(long squareMask) {
+        requireMasks();
+        int total = 0;
+        for (int w = 0; w < words; w++) {
+            total += Long.bitCount(consistentWord(squareMask, w));
+        }
+        return total;
+    }
+
+    /**
+     * Index of the k-th solution (0-based, in table order) that contains every
+     * queen in the board mask, or -1 if there are not that many. Boards up to 8x8 only.
+     */
+    public int nthConsistent(long squareMask, int k) {
+        requireMasks();
+        for (int w = 0; w < words; w++) {
+            long bits = consistentWord(squareMask, w);
+            int inWord = Long.bitCount(bits);
+            if (k < inWord) {
+                for (int i = 0; i < k; i++) {
+                    bits &= bits - 1;
+                }
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            k -= inWord;
+        }
+        return -1;
+    }
+
+    public int firstConsistent(long squareMask) {
+        return nthConsistent(squareMask, 0);
+    }
+
+    /**
+     * Number of solutions that place a queen on every (cols[i], rows[i]) for i < count
+     */
+    public int countConsistent(int[] cols, int[] rows, int count) {
+        int total = 0;
+        for (int w = 0; w < words; w++) {
+            long acc = validBits(w);
+            for (int i = 0; i < count && acc != 0; i++) {
+                if (cols[i] < 0 || cols[i] >= size || rows[i] < 0 || rows[i] >= size) {
+                    return 0;
+                }
+                acc &= index[(rows[i] * size + cols[i]) * words + w];
+            }
+            total += Long.bitCount(acc);
+        }
+        return total;
+    }
+
+    private long consistentWord(long squareMask, int w) {
+        int squares = size * size;
+        if (squares < Long.SIZE && (squareMask >>> squares) != 0) {
+            return 0;
+        }
+        long acc = validBits(w);
+        for (long m = squareMask; m != 0 && acc != 0; m &= m - 1) {
+            int square = Long.numberOfTrailingZeros(m);
+            acc &= index[square * words + w];
+        }
+        return acc;
+    }
+
+    private void requireMasks() {
+        if (sortedMasks == null) {
+            throw new IllegalStateException("Board masks only cover boards up to 8x8, not " + size + "x" + size
+                    + "; use countConsistent(int[], int[], int)");
+        }
+    }
+
+    /**
+     * Bits of word w that correspond to real solutions
+     */
+    private long validBits(int w) {
+        int remaining = packed.length - (w << 6);
+        return remaining >= Long.SIZE ? -1L : (1L << remaining) - 1;
+    }
+}
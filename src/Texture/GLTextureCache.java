@@ -0,0 +1,161 @@
+package Texture;
+
+import javax.media.opengl.GL;
+import javax.media.opengl.GLContext;
+import javax.media.opengl.glu.GLU;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-context cache of OpenGL texture names for decoded textures.
+ * Each TextureReader.Texture is uploaded the first time it is bound and the
+ * same texture name is reused afterwards, keyed by object identity.
+ * Texture names belong to one GL context, so there is one cache per context;
+ * dispose() deletes a context's textures before it is torn down.
+ */
+public class GLTextureCache {
+
+    private static final Map<GLContext, GLTextureCache> CACHES = new WeakHashMap<GLContext, GLTextureCache>();
+
+    private final Map<TextureReader.Texture, Integer> names = new IdentityHashMap<TextureReader.Texture, Integer>();
+    private final int[] scratch = new int[1];
+    private GLU glu;
+
+    /**
+     * Cache for the context current on this thread
+     */
+    public static GLTextureCache current() {
+        GLContext context = GLContext.getCurrent();
+        if (context == null) {
+            throw new IllegalStateException("No current GL context");
+        }
+        synchronized (CACHES) {
+            GLTextureCache cache = CACHES.get(context);
+            if (cache == null) {
+                cache = new GLTextureCache();
+                CACHES.put(context, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Delete every texture cached for the context and forget the cache.
+     * Call before the context is destroyed, from a thread where it is not current elsewhere.
+     */
+    public static void dispose(GLContext context) {
+        if (context == null) return;
+
+        GLTextureCache cache;
+        synchronized (CACHES) {
+            cache = CACHES.remove(context);
+        }
+        if (cache == null || cache.names.isEmpty()) return;
+
+        if (GLContext.getCurrent() == context) {
+            cache.deleteAll(context.getGL());
+        } else if (context.makeCurrent() != GLContext.CONTEXT_NOT_CURRENT) {
+            try {
+                cache.deleteAll(context.getGL());
+            } finally {
+                context.release();
+            }
+        }
+    }
+
+    /**
+     * Bind the texture, uploading it on first use
+     * @return the GL texture name
+     */
+    public int bind(GL gl, TextureReader.Texture texture) {
+        return bind(gl, texture, false);
+    }
+
+    /**
+     * Bind the texture, uploading it on first use, with a mipmap chain if asked.
+     * The filtering chosen by the first upload sticks for the texture's lifetime.
+     * @return the GL texture name
+     */
+    public int bind(GL gl, TextureReader.Texture texture, boolean mipmaps) {
+        Integer name = names.get(texture);
+        if (name != null) {
+            gl.glBindTexture(GL.GL_TEXTURE_2D, name);
+            return name;
+        }
+
+        gl.glGenTextures(1, scratch, 0);
+        gl.glBindTexture(GL.GL_TEXTURE_2D, scratch[0]);
+        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+        if (mipmaps && texture.getMipLevelCount() > 1 && canUpload(gl, texture)) {
+            // Levels precomputed by TextureResampler, nothing left to build here
+            gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR_MIPMAP_LINEAR);
+            for (int level = 0; level < texture.getMipLevelCount(); level++) {
+                TextureReader.Texture mip = texture.getMipLevel(level);
+                gl.glTexImage2D(GL.GL_TEXTURE_2D, level, GL.GL_RGBA, mip.getWidth(), mip.getHeight(),
+                        0, GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, mip.getPixels());
+            }
+        } else if (mipmaps) {
+            gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR_MIPMAP_LINEAR);
+            if (glu == null) {
+                glu = new GLU();
+            }
+            glu.gluBuild2DMipmaps(GL.GL_TEXTURE_2D, GL.GL_RGBA, texture.getWidth(), texture.getHeight(),
+                    GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, texture.getPixels());
+        } else {
+            gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
+            gl.glTexImage2D(
+                    GL.GL_TEXTURE_2D,
+                    0,
+                    GL.GL_RGBA,
+                    texture.getWidth(),
+                    texture.getHeight(),
+                    0,
+                    GL.GL_RGBA,
+                    GL.GL_UNSIGNED_BYTE,
+                    texture.getPixels()
+            );
+        }
+
+        names.put(texture, scratch[0]);
+        return scratch[0];
+    }
+
+    /**
+     * Whether the texture can be uploaded at its own size; without
+     * non-power-of-two support gluBuild2DMipmaps has to rescale it
+     */
+    private static boolean canUpload(GL gl, TextureReader.Texture texture) {
+        return (isPowerOfTwo(texture.getWidth()) && isPowerOfTwo(texture.getHeight()))
+                || gl.isExtensionAvailable("GL_ARB_texture_non_power_of_two");
+    }
+
+    private static boolean isPowerOfTwo(int n) {
+        return (n & (n - 1)) == 0;
+    }
+
+    /**
+     * Delete one texture's GL name, e.g. when its pixels are no longer used
+     */
+    public void release(GL gl, TextureReader.Texture texture) {
+        Integer name = names.remove(texture);
+        if (name != null) {
+            scratch[0] = name;
+            gl.glDeleteTextures(1, scratch, 0);
+        }
+    }
+
+    private void deleteAll(GL gl) {
+        int[] all = new int[names.size()];
+        int i = 0;
+        for (Integer name : names.values()) {
+            all[i++] = name;
+        }
+        gl.glDeleteTextures(all.length, all, 0);
+        names.clear();
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,401 @@
+package Texture;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Windows bitmap loader that memory-maps the whole file, parses its headers
+ * from the buffer and converts the pixels straight into an ARGB raster. Compared to BitmapLoader it
+ * honours the pixel data offset and top-down bitmaps, supports 1, 4, 8, 16,
+ * 24 and 32 bits per pixel, BI_BITFIELDS masks and RLE4/RLE8 compression,
+ * and rejects truncated files instead of reading past their end (RLE data
+ * that stops early leaves the remaining pixels at palette entry 0).
+ * Large images are converted with one task per row on the common pool.
+ */
+public class NioBitmapLoader {
+
+    private static final int PARALLEL_THRESHOLD = 256 * 1024; // Pixels
+
+    private static final int BI_RGB = 0;
+    private static final int BI_RLE8 = 1;
+    private static final int BI_RLE4 = 2;
+    private static final int BI_BITFIELDS = 3;
+
+    private static final int FILE_HEADER_SIZE = 14;
+
+    public static BufferedImage loadBitmap(String file) throws IOException {
+        return decode(readFully(file));
+    }
+
+    /**
+     * Decode a complete bitmap file held in a buffer (heap, direct or mapped)
+     */
+    public static BufferedImage decode(ByteBuffer file) throws IOException {
+        final Header header = new Header(file);
+        final int width = header.width;
+        final int height = header.height;
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final int[] argb = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        if (header.compression == BI_RLE8 || header.compression == BI_RLE4) {
+            final int[] palette = header.palette;
+            convertRows(header, ByteBuffer.wrap(decodeRle(file, header)), width, (src, in, out) -> {
+                for (int x = 0; x < width; x++) {
+                    argb[out + x] = palette[src[in + x] & 0xFF];
+                }
+            });
+            return image;
+        }
+
+        final int stride = header.stride;
+        if ((long) header.pixelOffset + (long) stride * height > file.limit()) {
+            throw new IOException("Truncated bitmap: " + height + " rows of " + stride + " bytes do not fit");
+        }
+        ByteBuffer pixels = file.duplicate();
+        pixels.position(header.pixelOffset);
+        pixels = pixels.slice();
+
+        switch (header.bitCount) {
+            case 1:
+            case 4:
+            case 8: {
+                final int bits = header.bitCount;
+                final int[] palette = header.palette;
+                final int mask = (1 << bits) - 1;
+                convertRows(header, pixels, stride, (src, in, out) -> {
+                    if (bits == 8) {
+                        for (int x = 0; x < width; x++) {
+                            argb[out + x] = palette[src[in + x] & 0xFF];
+                        }
+                        return;
+                    }
+                    // Leftmost pixel in the high bits
+                    int b = 0;
+                    int shift = 0;
+                    for (int x = 0; x < width; x++) {
+                        if (shift == 0) {
+                            b = src[in++] & 0xFF;
+                            shift = 8;
+                        }
+                        shift -= bits;
+                        argb[out + x] = palette[(b >>> shift) & mask];
+                    }
+                });
+                break;
+            }
+            case 24:
+                convertRows(header, pixels, stride, (src, in, out) -> {
+                    for (int x = 0; x < width; x++, in += 3) {
+                        argb[out + x] = 0xFF000000
+                                | (src[in + 2] & 0xFF) << 16
+                                | (src[in + 1] & 0xFF) << 8
+                                | (src[in] & 0xFF);
+                    }
+                });
+                break;
+            case 32: {
+                if (header.compression != BI_RGB) {
+                    convertBitfields(header, pixels, argb);
+                    break;
+                }
+                // The fourth byte is officially unused, but many tools store alpha there
+                final int opaque = hasAlpha(pixels, stride, width, height) ? 0 : 0xFF000000;
+                convertRows(header, pixels, stride, (src, in, out) -> {
+                    for (int x = 0; x < width; x++, in += 4) {
+                        argb[out + x] = opaque
+                                | (src[in + 3] & 0xFF) << 24
+                                | (src[in + 2] & 0xFF) << 16
+                                | (src[in + 1] & 0xFF) << 8
+                                | (src[in] & 0xFF);
+                    }
+                });
+                break;
+            }
+            case 16:
+                convertBitfields(header, pixels, argb);
+                break;
+            default:
+                throw new IOException("Unsupported bitmap depth: " + header.bitCount + " bits");
+        }
+        return image;
+    }
+
+    /**
+     * 16 or 32 bit pixels split into channels by the header's masks
+     */
+    private static void convertBitfields(Header header, ByteBuffer pixels, final int[] argb) {
+        final int width = header.width;
+        final int bytes = header.bitCount / 8;
+        final Channel red = new Channel(header.redMask);
+        final Channel green = new Channel(header.greenMask);
+        final Channel blue = new Channel(header.blueMask);
+        final Channel alpha = header.alphaMask != 0 ? new Channel(header.alphaMask) : null;
+        convertRows(header, pixels, header.stride, (src, in, out) -> {
+            for (int x = 0; x < width; x++, in += bytes) {
+                int pixel = (src[in] & 0xFF) | (src[in + 1] & 0xFF) << 8;
+                if (bytes == 4) {
+                    pixel |= (src[in + 2] & 0xFF) << 16 | (src[in + 3] & 0xFF) << 24;
+                }
+                argb[out + x] = (alpha == null ? 0xFF : alpha.extract(pixel)) << 24
+                        | red.extract(pixel) << 16
+                        | green.extract(pixel) << 8
+                        | blue.extract(pixel);
+            }
+        });
+    }
+
+    // ==================== HEADER ====================
+
+    private static final class Header {
+        final int pixelOffset;
+        final int width;
+        final int height;
+        final boolean topDown;
+        final int bitCount;
+        final int compression;
+        final int stride;
+        int redMask, greenMask, blueMask, alphaMask;
+        int[] palette;
+
+        Header(ByteBuffer file) throws IOException {
+            ByteBuffer in = file.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            if (in.limit() < FILE_HEADER_SIZE + 40 || in.get(0) != 'B' || in.get(1) != 'M') {
+                throw new IOException("Not a Windows bitmap");
+            }
+            pixelOffset = in.getInt(10);
+            if (pixelOffset < FILE_HEADER_SIZE + 40 || pixelOffset > in.limit()) {
+                throw new IOException("Bad bitmap pixel offset: " + pixelOffset);
+            }
+
+            int infoSize = in.getInt(FILE_HEADER_SIZE);
+            if (infoSize < 40) {
+                throw new IOException("Unsupported bitmap header of " + infoSize + " bytes");
+            }
+            int info = FILE_HEADER_SIZE;
+            width = in.getInt(info + 4);
+            int rawHeight = in.getInt(info + 8);
+            bitCount = in.getShort(info + 14);
+            compression = in.getInt(info + 16);
+            int coloursUsed = in.getInt(info + 32);
+
+            topDown = rawHeight < 0;
+            height = Math.abs(rawHeight);
+            if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE / 4) {
+                throw new IOException("Bad bitmap size: " + width + "x" + rawHeight);
+            }
+            if (topDown && (compression == BI_RLE8 || compression == BI_RLE4)) {
+                throw new IOException("Compressed bitmaps cannot be top-down");
+            }
+            stride = (int) ((((long) width * bitCount + 31) & ~31) >> 3);
+
+            int paletteStart = info + infoSize;
+            if (compression == BI_BITFIELDS) {
+                // Masks follow a 40-byte header and are part of the larger ones
+                redMask = in.getInt(info + 40);
+                greenMask = in.getInt(info + 44);
+                blueMask = in.getInt(info + 48);
+                alphaMask = infoSize >= 56 ? in.getInt(info + 52) : 0;
+                if (infoSize == 40) {
+                    paletteStart += 12;
+                }
+            } else if (compression == BI_RGB && bitCount == 16) {
+                redMask = 0x7C00;
+                greenMask = 0x03E0;
+                blueMask = 0x001F;
+            } else if (compression != BI_RGB
+                    && !(compression == BI_RLE8 && bitCount == 8)
+                    && !(compression == BI_RLE4 && bitCount == 4)) {
+                throw new IOException("Unsupported bitmap compression " + compression + " at " + bitCount + " bits");
+            }
+
+            if (bitCount <= 8) {
+                int count = coloursUsed > 0 ? Math.min(coloursUsed, 256) : 1 << bitCount;
+                if (paletteStart + count * 4 > in.limit()) {
+                    throw new IOException("Truncated bitmap palette");
+                }
+                palette = new int[256]; // Out-of-range indices read opaque black
+                Arrays.fill(palette, 0xFF000000);
+                for (int i = 0; i < count; i++) {
+                    palette[i] = 0xFF000000 | (in.getInt(paletteStart + i * 4) & 0xFFFFFF);
+                }
+            }
+        }
+
+        /**
+         * Image row of the n-th row stored in the file
+         */
+        int imageRow(int fileRow) {
+            return topDown ? fileRow : height - 1 - fileRow;
+        }
+    }
+
+    /**
+     * One BI_BITFIELDS color channel, scaled to 8 bits
+     */
+    private static final class Channel {
+        private final int mask;
+        private final int shift;
+        private final int max;
+
+        Channel(int mask) {
+            this.mask = mask;
+            this.shift = mask == 0 ? 0 : Integer.numberOfTrailingZeros(mask);
+            this.max = mask == 0 ? 1 : mask >>> shift;
+        }
+
+        int extract(int pixel) {
+            return (int) ((((pixel & mask) >>> shift) * 255L + max / 2) / max);
+        }
+    }
+
+    // ==================== PIXELS ====================
+
+    private interface RowConverter {
+        /**
+         * @param src bytes holding the file row, starting at in
+         * @param out index of the row's first pixel in the image
+         */
+        void convert(byte[] src, int in, int out);
+    }
+
+    /**
+     * Run the converter on every row of pixels (rows of stride bytes, in file order).
+     * Array-backed buffers are read in place; direct or mapped ones are copied row by row.
+     */
+    private static void convertRows(final Header header, final ByteBuffer pixels, final int stride,
+                                    final RowConverter converter) {
+        IntConsumer convertRow;
+        if (pixels.hasArray()) {
+            final byte[] data = pixels.array();
+            final int base = pixels.arrayOffset();
+            convertRow = row -> converter.convert(data, base + row * stride, header.imageRow(row) * header.width);
+        } else {
+            convertRow = row -> {
+                byte[] bytes = new byte[stride];
+                ByteBuffer source = pixels.duplicate();
+                source.position(row * stride);
+                source.get(bytes);
+                converter.convert(bytes, 0, header.imageRow(row) * header.width);
+            };
+        }
+
+        // Splitting only pays off for big images with cores to spare
+        if ((long) header.width * header.height >= PARALLEL_THRESHOLD
+                && Runtime.getRuntime().availableProcessors() > 1) {
+            IntStream.range(0, header.height).parallel().forEach(convertRow);
+        } else {
+            for (int row = 0; row < header.height; row++) {
+                convertRow.accept(row);
+            }
+        }
+    }
+
+    private static boolean hasAlpha(ByteBuffer pixels, int stride, int width, int height) {
+        for (int row = 0; row < height; row++) {
+            for (int in = row * stride + 3, end = in + width * 4; in < end; in += 4) {
+                if (pixels.get(in) != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expand RLE4/RLE8 data into one palette index per pixel, in file row order.
+     * Runs depend on everything before them, so this part stays sequential.
+     */
+    private static byte[] decodeRle(ByteBuffer file, Header header) throws IOException {
+        int width = header.width;
+        int height = header.height;
+        boolean rle4 = header.compression == BI_RLE4;
+        byte[] indices = new byte[width * height];
+
+        ByteBuffer in = file.duplicate();
+        in.position(header.pixelOffset);
+        int x = 0, row = 0;
+        try {
+            while (row < height) {
+                int count = in.get() & 0xFF;
+                int value = in.get() & 0xFF;
+                if (count > 0) {
+                    // Encoded run; RLE4 alternates the two nibbles
+                    for (int i = 0; i < count && x < width; i++, x++) {
+                        indices[row * width + x] = (byte) (rle4 ? (i % 2 == 0 ? value >>> 4 : value & 0x0F) : value);
+                    }
+                } else if (value == 0) {
+                    x = 0;
+                    row++;          // End of line
+                } else if (value == 1) {
+                    break;          // End of bitmap
+                } else if (value == 2) {
+                    x += in.get() & 0xFF;
+                    row += in.get() & 0xFF;
+                } else {
+                    // Absolute run of `value` pixels, padded to a 16-bit boundary
+                    int bytes = rle4 ? (value + 1) / 2 : value;
+                    int b = 0;
+                    for (int i = 0; i < value; i++) {
+                        int index;
+                        if (rle4) {
+                            if (i % 2 == 0) b = in.get() & 0xFF;
+                            index = i % 2 == 0 ? b >>> 4 : b & 0x0F;
+                        } else {
+                            index = in.get() & 0xFF;
+                        }
+                        if (x < width && row < height) {
+                            indices[row * width + x] = (byte) index;
+                        }
+                        x++;
+                    }
+                    if ((bytes & 1) != 0) in.get();
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            // Some encoders leave out the end-of-bitmap marker; keep what was decoded
+        }
+        return indices;
+    }
+
+    // ==================== INPUT ====================
+
+    /**
+     * Whole file as a buffer: from the classpath if it is there (like
+     * ResourceRetriever), otherwise mapped from disk without copying
+     */
+    private static ByteBuffer readFully(String file) throws IOException {
+        InputStream stream = ClassLoader.getSystemResourceAsStream(file);
+        if (stream != null) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] chunk = new byte[64 * 1024];
+                int read;
+                while ((read = stream.read(chunk)) > 0) {
+                    bytes.write(chunk, 0, read);
+                }
+                return ByteBuffer.wrap(bytes.toByteArray());
+            } finally {
+                stream.close();
+            }
+        }
+
+        FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        try {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package Texture;
+
+import javax.media.opengl.GL;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several sprites packed into a few large textures ("pages").
+ * Each sprite is looked up by key and drawn with its Region's texture
+ * coordinates, so a whole board binds one page instead of one texture
+ * per sprite. Pages are built on the CPU by TextureAtlas.Builder and
+ * uploaded with upload() once a GL context exists.
+ */
+public class TextureAtlas {
+
+    /**
+     * Where one sprite lives in the atlas. v0 is the bottom edge, matching
+     * the bottom-up rows produced by TextureReader.
+     */
+    public static class Region {
+        public final int page;
+        public final float u0, v0, u1, v1;
+        public final int width, height; // Size in atlas pixels
+
+        Region(int page, float u0, float v0, float u1, float v1, int width, int height) {
+            this.page = page;
+            this.u0 = u0;
+            this.v0 = v0;
+            this.u1 = u1;
+            this.v1 = v1;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private final List<TextureReader.Texture> pages;
+    private final Region[] regions;           // In the order sprites were added
+    private final Map<String, Integer> indices;
+    private int[] textureIds;
+
+    private TextureAtlas(List<TextureReader.Texture> pages, Region[] regions, Map<String, Integer> indices) {
+        this.pages = pages;
+        this.regions = regions;
+        this.indices = indices;
+    }
+
+    public Region getRegion(String key) {
+        Integer index = indices.get(key);
+        return index == null ? null : regions[index];
+    }
+
+    /**
+     * Region by sprite index, cheaper than a key lookup in the draw loop
+     */
+    public Region getRegion(int index) {
+        return regions[index];
+    }
+
+    /**
+     * Sprite index of a key (its position in the builder), or -1 if absent
+     */
+    public int getIndex(String key) {
+        Integer index = indices.get(key);
+        return index == null ? -1 : index;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public TextureReader.Texture getPage(int page) {
+        return pages.get(page);
+    }
+
+    /**
+     * Upload every page to the current context with mipmaps. Pages go through
+     * GLTextureCache, so uploading the same atlas again in one context is free.
+     */
+    public void upload(GL gl) {
+        int[] ids = new int[pages.size()];
+        GLTextureCache cache = GLTextureCache.current();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cache.bind(gl, pages.get(i), true);
+        }
+        textureIds = ids;
+    }
+
+    /**
+     * GL texture name of a page in the context last passed to upload()
+     */
+    public int getTextureId(int page) {
+        return textureIds[page];
+    }
+
+    public int getTextureId(Region region) {
+        return textureIds[region.page];
+    }
+
+    // ==================== BUILDER ====================
+
+    /**
+     * Packs sprites into square pages with a simple shelf packer.
+     * Sprites larger than maxSpriteSize are scaled down (keeping their aspect
+     * ratio) first, since they are only ever drawn a few dozen pixels wide.
+     */
+    public static class Builder {
+        private static final int PADDING = 2; // Keeps mipmaps from bleeding between sprites
+
+        private final int pageSize;
+        private final int maxSpriteSize;
+        private final List<String> keys = new ArrayList<String>();
+        private final List<BufferedImage> images = new ArrayList<BufferedImage>();
+
+        public Builder(int pageSize, int maxSpriteSize) {
+            if (maxSpriteSize + 2 * PADDING > pageSize) {
+                throw new IllegalArgumentException("Sprites of " + maxSpriteSize + "px do not fit a " + pageSize + "px page");
+            }
+            this.pageSize = pageSize;
+            this.maxSpriteSize = maxSpriteSize;
+        }
+
+        public Builder add(String key, String filename) throws IOException {
+            return add(key, TextureReader.readBufferedImage(filename));
+        }
+
+        /**
+         * Add an already decoded texture, e.g. one mapped from TextureDiskCache
+         */
+        public Builder add(String key, TextureReader.Texture texture) {
+            return add(key, TextureReader.toImage(texture));
+        }
+
+        public Builder add(String key, BufferedImage image) {
+            keys.add(key);
+            images.add(fit(image, maxSpriteSize));
+            return this;
+        }
+
+        public TextureAtlas build() {
+            // Tallest first keeps shelves tight
+            List<Integer> order = new ArrayList<Integer>();
+            for (int i = 0; i < images.size(); i++) {
+                order.add(i);
+            }
+            Collections.sort(order, new Comparator<Integer>() {
+                public int compare(Integer a, Integer b) {
+                    return images.get(b).getHeight() - images.get(a).getHeight();
+                }
+            });
+
+            List<TextureReader.Texture> pages = new ArrayList<TextureReader.Texture>();
+            Region[] regions = new Region[images.size()];
+            Map<String, Integer> indices = new HashMap<String, Integer>();
+
+            BufferedImage page = null;
+            Graphics2D g = null;
+            int x = 0, y = 0, shelfHeight = 0;
+
+            for (int index : order) {
+                BufferedImage image = images.get(index);
+                int w = image.getWidth() + 2 * PADDING;
+                int h = image.getHeight() + 2 * PADDING;
+
+                if (page != null && x + w > pageSize) {
+                    x = 0;
+                    y += shelfHeight;
+                    shelfHeight = 0;
+                }
+                if (page == null || y + h > pageSize) {
+                    if (page != null) {
+                        g.dispose();
+                        pages.add(TextureResampler.withMipmaps(TextureReader.fromImage(page, true)));
+                    }
+                    page = new BufferedImage(pageSize, pageSize, BufferedImage.TYPE_INT_ARGB);
+                    g = page.createGraphics();
+                    x = 0;
+                    y = 0;
+                    shelfHeight = 0;
+                }
+
+                int left = x + PADDING;
+                int top = y + PADDING;
+                g.drawImage(image, left, top, null);
+
+                // Image rows run top-down, texture rows bottom-up
+                float u0 = (float) left / pageSize;
+                float u1 = (float) (left + image.getWidth()) / pageSize;
+                float v0 = (float) (pageSize - top - image.getHeight()) / pageSize;
+                float v1 = (float) (pageSize - top) / pageSize;
+                regions[index] = new Region(pages.size(), u0, v0, u1, v1, image.getWidth(), image.getHeight());
+                indices.put(keys.get(index), index);
+
+                x += w;
+                shelfHeight = Math.max(shelfHeight, h);
+            }
+            if (page != null) {
+                g.dispose();
+                pages.add(TextureResampler.withMipmaps(TextureReader.fromImage(page, true)));
+            }
+
+            return new TextureAtlas(pages, regions, indices);
+        }
+
+        /**
+         * Scale the image so neither side exceeds maxSize, halving repeatedly
+         * so large reductions stay smooth
+         */
+        static BufferedImage fit(BufferedImage image, int maxSize) {
+            int w = image.getWidth();
+            int h = image.getHeight();
+            if (w <= maxSize && h <= maxSize) {
+                return image;
+            }
+
+            float scale = Math.min((float) maxSize / w, (float) maxSize / h);
+            int targetW = Math.max(1, Math.round(w * scale));
+            int targetH = Math.max(1, Math.round(h * scale));
+
+            BufferedImage current = image;
+            while (w > targetW || h > targetH) {
+                w = Math.max(targetW, w / 2);
+                h = Math.max(targetH, h / 2);
+                BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = next.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, w, h, null);
+                g.dispose();
+                current = next;
+            }
+            return current;
+        }
+    }
+}
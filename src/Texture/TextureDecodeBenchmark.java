@@ -0,0 +1,74 @@
+package Texture;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares TextureReader's PixelGrabber conversion with the raster fast path
+ * and the reusing Decoder on every PNG under the assets folder.
+ * Images are decoded once up front, so only the pixel conversion is timed.
+ * Run from the project root: java Texture.TextureDecodeBenchmark [rounds]
+ */
+public class TextureDecodeBenchmark {
+
+    private static final String ASSETS = "src//Assets";
+
+    public static void main(String[] args) throws IOException {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        List<BufferedImage> images = new ArrayList<BufferedImage>();
+        collect(new File(ASSETS), images);
+        long pixels = 0;
+        for (BufferedImage image : images) {
+            pixels += (long) image.getWidth() * image.getHeight();
+        }
+        System.out.println(images.size() + " images, " + pixels / 1000000.0 + " megapixels");
+
+        // Both paths must produce identical bytes
+        for (BufferedImage image : images) {
+            if (!TextureReader.readPixelsGrabbed(image, true).getPixels().equals(
+                    TextureReader.fromImage(image, true).getPixels())) {
+                throw new IllegalStateException("Fast path differs for image type " + image.getType());
+            }
+        }
+
+        TextureReader.Decoder decoder = new TextureReader.Decoder();
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            for (BufferedImage image : images) {
+                TextureReader.readPixelsGrabbed(image, true);
+            }
+            long grabbed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (BufferedImage image : images) {
+                TextureReader.fromImage(image, true);
+            }
+            long fast = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (BufferedImage image : images) {
+                decoder.decode(image, true);
+            }
+            long reused = System.nanoTime() - start;
+
+            System.out.printf("round %d: PixelGrabber %.1f ms, raster %.1f ms, reused buffer %.1f ms%n",
+                    round + 1, grabbed / 1e6, fast / 1e6, reused / 1e6);
+        }
+    }
+
+    private static void collect(File dir, List<BufferedImage> images) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collect(file, images);
+            } else if (file.getName().endsWith(".png")) {
+                images.add(TextureReader.readBufferedImage(file.getPath()));
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package Texture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk cache of decoded textures, so image files are only run through
+ * ImageIO the first time they are used. Each entry stores the unpacked
+ * RGB(A) pixels of every mip level exactly as TextureReader lays them out,
+ * behind a header recording the sizes and the length and CRC32 of the
+ * source file. Loading memory-maps the entry and hands the mapped pixels to
+ * GL without copying; an entry whose source file changed is ignored and
+ * rewritten. Textures shrunk to a display size get their own entry per size.
+ *
+ * Header (big-endian): magic, version, bytes per pixel, level count,
+ * source length (long), source CRC32, then width and height of each level.
+ */
+public class TextureDiskCache {
+
+    public static final String DEFAULT_DIRECTORY = "cache//textures";
+
+    private static final int MAGIC = 0x38445458; // "8DTX"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 28;
+    private static final int MAX_LEVELS = 32;
+
+    private static volatile File directory = new File(DEFAULT_DIRECTORY);
+    private static volatile boolean enabled = true;
+
+    private TextureDiskCache() {}
+
+    public static void setEnabled(boolean enabled) {
+        TextureDiskCache.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setDirectory(String path) {
+        directory = new File(path);
+    }
+
+    /**
+     * Cached full-size texture for the image file, or null if there is no up-to-date entry
+     */
+    public static TextureReader.Texture load(String filename, boolean storeAlphaChannel) throws IOException {
+        return load(filename, storeAlphaChannel, 0, 0);
+    }
+
+    /**
+     * Cached texture for the image file shrunk to maxWidth x maxHeight (0 for full size),
+     * or null if there is no up-to-date entry
+     */
+    public static TextureReader.Texture load(String filename, boolean storeAlphaChannel,
+                                             int maxWidth, int maxHeight) throws IOException {
+        if (!enabled) return null;
+
+        File entry = entryFor(filename, storeAlphaChannel, maxWidth, maxHeight);
+        File source = new File(filename);
+        if (!entry.isFile() || !source.isFile()) return null;
+
+        RandomAccessFile file = new RandomAccessFile(entry, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            if (channel.size() < HEADER_SIZE) return null;
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            int bytesPerPixel = storeAlphaChannel ? 4 : 3;
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) return null;
+            if (mapped.getInt() != bytesPerPixel) return null;
+            int levelCount = mapped.getInt();
+            long sourceLength = mapped.getLong();
+            int sourceCrc = mapped.getInt();
+            if (levelCount < 1 || levelCount > MAX_LEVELS || mapped.remaining() < levelCount * 8) return null;
+
+            int[] widths = new int[levelCount];
+            int[] heights = new int[levelCount];
+            long size = 0;
+            for (int level = 0; level < levelCount; level++) {
+                widths[level] = mapped.getInt();
+                heights[level] = mapped.getInt();
+                if (widths[level] <= 0 || heights[level] <= 0) return null;
+                size += (long) widths[level] * heights[level] * bytesPerPixel;
+            }
+            if (mapped.remaining() != size) return null;
+            if (sourceLength != source.length() || sourceCrc != checksum(source)) return null;
+
+            // Every level is a view of the one mapping
+            TextureReader.Texture[] levels = new TextureReader.Texture[levelCount - 1];
+            ByteBuffer base = null;
+            for (int level = 0; level < levelCount; level++) {
+                int length = widths[level] * heights[level] * bytesPerPixel;
+                ByteBuffer pixels = mapped.slice();
+                pixels.limit(length);
+                mapped.position(mapped.position() + length);
+                if (level == 0) {
+                    base = pixels;
+                } else {
+                    levels[level - 1] = new TextureReader.Texture(pixels, widths[level], heights[level]);
+                }
+            }
+            return new TextureReader.Texture(base, widths[0], heights[0], levels);
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Write a freshly decoded full-size texture for the next launch
+     */
+    public static void store(String filename, boolean storeAlphaChannel, TextureReader.Texture texture) {
+        store(filename, storeAlphaChannel, 0, 0, texture);
+    }
+
+    /**
+     * Write a freshly decoded texture, with its mip levels, for the next launch.
+     * Failures only cost the cache.
+     */
+    public static void store(String filename, boolean storeAlphaChannel, int maxWidth, int maxHeight,
+                             TextureReader.Texture texture) {
+        if (!enabled) return;
+
+        File entry = entryFor(filename, storeAlphaChannel, maxWidth, maxHeight);
+        File temp = null;
+        try {
+            File source = new File(filename);
+            if (!source.isFile()) return; // Not a plain file, e.g. a classpath resource
+
+            File dir = entry.getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Cannot create " + dir);
+            }
+
+            int levelCount = texture.getMipLevelCount();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + levelCount * 8);
+            header.putInt(MAGIC).putInt(VERSION)
+                    .putInt(storeAlphaChannel ? 4 : 3).putInt(levelCount)
+                    .putLong(source.length()).putInt(checksum(source));
+            for (int level = 0; level < levelCount; level++) {
+                header.putInt(texture.getMipLevel(level).getWidth()).putInt(texture.getMipLevel(level).getHeight());
+            }
+            header.flip();
+
+            // Write beside the entry and move it in place, so readers never see half a file
+            temp = File.createTempFile(entry.getName(), ".tmp", dir);
+            RandomAccessFile file = new RandomAccessFile(temp, "rw");
+            try {
+                FileChannel channel = file.getChannel();
+                while (header.hasRemaining()) channel.write(header);
+                for (int level = 0; level < levelCount; level++) {
+                    ByteBuffer pixels = texture.getMipLevel(level).getPixels().duplicate();
+                    pixels.rewind();
+                    while (pixels.hasRemaining()) channel.write(pixels);
+                }
+            } finally {
+                file.close();
+            }
+            Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+        } catch (IOException e) {
+            System.err.println("Could not cache texture " + filename + ": " + e.getMessage());
+        } finally {
+            if (temp != null) temp.delete();
+        }
+    }
+
+    /**
+     * Delete every cached texture
+     */
+    public static void clear() {
+        File[] files = directory.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(".rgba") || name.endsWith(".rgb")) file.delete();
+        }
+    }
+
+    private static File entryFor(String filename, boolean storeAlphaChannel, int maxWidth, int maxHeight) {
+        // "src//Assets//Players//D1//f1.png" at 75x75 -> "src_Assets_Players_D1_f1.png@75x75.rgba"
+        // (.rgb without alpha, no size suffix at full size)
+        String name = filename.replaceAll("[\\\\/:]+", "_");
+        if (maxWidth > 0 && maxHeight > 0) {
+            name += "@" + maxWidth + "x" + maxHeight;
+        }
+        return new File(directory, name + (storeAlphaChannel ? ".rgba" : ".rgb"));
+    }
+
+    private static int checksum(File file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            CRC32 crc = new CRC32();
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return (int) crc.getValue();
+        } finally {
+            in.close();
+        }
+    }
+}
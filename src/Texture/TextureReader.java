@@ -3,7 +3,17 @@ package Texture;
 import com.sun.opengl.util.BufferUtil;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
 import java.awt.image.PixelGrabber;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
@@ -18,14 +28,75 @@ public class TextureReader {
         return readTexture(filename, false);
     }
 
+    /**
+     * Texture for an image file, mapped from TextureDiskCache when the file was decoded before
+     */
     public static Texture readTexture(String filename, boolean storeAlphaChannel) throws IOException {
-        BufferedImage bufferedImage;
+        return readTexture(filename, storeAlphaChannel, 0, 0);
+    }
+
+    /**
+     * Texture for an image file shrunk to its largest displayed size, with
+     * precomputed mip levels. The cache keeps the shrunk pixels, so later
+     * launches neither decode nor resample.
+     * @param maxWidth  widest the texture is ever drawn, in pixels; 0 keeps the full size
+     * @param maxHeight tallest the texture is ever drawn, in pixels
+     */
+    public static Texture readTexture(String filename, boolean storeAlphaChannel, int maxWidth, int maxHeight) throws IOException {
+        Texture texture = TextureDiskCache.load(filename, storeAlphaChannel, maxWidth, maxHeight);
+        if (texture == null) {
+            texture = readPixels(readBufferedImage(filename), storeAlphaChannel);
+            if (maxWidth > 0 && maxHeight > 0) {
+                texture = TextureResampler.withMipmaps(TextureResampler.fit(texture, maxWidth, maxHeight));
+            }
+            TextureDiskCache.store(filename, storeAlphaChannel, maxWidth, maxHeight, texture);
+        }
+        return texture;
+    }
+
+    /**
+     * Decode an image file (BMP or anything ImageIO reads) without converting it to a texture
+     */
+    public static BufferedImage readBufferedImage(String filename) throws IOException {
         if (filename.endsWith(".bmp")) {
-            bufferedImage = BitmapLoader.loadBitmap(filename);
-        } else {
-            bufferedImage = readImage(filename);
+            return NioBitmapLoader.loadBitmap(filename);
+        }
+        return readImage(filename);
+    }
+
+    /**
+     * Convert an already decoded image, e.g. one composed in memory
+     */
+    public static Texture fromImage(BufferedImage img, boolean storeAlphaChannel) {
+        return readPixels(img, storeAlphaChannel);
+    }
+
+    /**
+     * ARGB image of a texture's full-size level, the inverse of fromImage(),
+     * e.g. to compose cached textures into an atlas page
+     */
+    public static BufferedImage toImage(Texture texture) {
+        int width = texture.getWidth();
+        int height = texture.getHeight();
+        int bytesPerPixel = texture.getBytesPerPixel();
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] argb = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+
+        ByteBuffer pixels = texture.getPixels().duplicate();
+        pixels.rewind();
+        byte[] row = new byte[width * bytesPerPixel];
+        for (int y = height - 1; y >= 0; y--) { // Texture rows run bottom-up
+            pixels.get(row);
+            int out = y * width;
+            for (int x = 0, in = 0; x < width; x++, in += bytesPerPixel) {
+                int alpha = bytesPerPixel == 4 ? row[in + 3] & 0xFF : 0xFF;
+                argb[out + x] = alpha << 24
+                        | (row[in] & 0xFF) << 16
+                        | (row[in + 1] & 0xFF) << 8
+                        | (row[in + 2] & 0xFF);
+            }
         }
-        return readPixels(bufferedImage, storeAlphaChannel);
+        return img;
     }
 
     private static BufferedImage readImage(String resourceName) throws IOException {
@@ -33,6 +104,114 @@ public class TextureReader {
     }
 
     private static Texture readPixels(BufferedImage img, boolean storeAlphaChannel) {
+        int bytesPerPixel = storeAlphaChannel ? 4 : 3;
+        ByteBuffer unpackedPixels = BufferUtil.newByteBuffer(img.getWidth() * img.getHeight() * bytesPerPixel);
+        unpack(img, storeAlphaChannel, unpackedPixels, new byte[img.getWidth() * bytesPerPixel]);
+        unpackedPixels.flip();
+        return new Texture(unpackedPixels, img.getWidth(), img.getHeight());
+    }
+
+    /**
+     * Write the image's pixels bottom row first as RGB(A) bytes, reading the raster
+     * directly when its layout is known and through PixelGrabber otherwise
+     */
+    private static void unpack(BufferedImage img, boolean storeAlphaChannel, ByteBuffer out, byte[] row) {
+        if (!unpackRaster(img, storeAlphaChannel, out, row)) {
+            unpackGrabbed(img, storeAlphaChannel, out);
+        }
+    }
+
+    /**
+     * Fast path: copy straight out of the DataBuffer of interleaved byte images
+     * (what ImageIO returns for PNG and JPEG) and packed int RGB images,
+     * converting one row at a time into a bulk put.
+     * @return false if the image layout is not one handled here
+     */
+    private static boolean unpackRaster(BufferedImage img, boolean storeAlphaChannel, ByteBuffer out, byte[] row) {
+        ColorModel colorModel = img.getColorModel();
+        if (colorModel.isAlphaPremultiplied()) {
+            return false;
+        }
+
+        WritableRaster raster = img.getRaster();
+        DataBuffer dataBuffer = raster.getDataBuffer();
+        SampleModel sampleModel = raster.getSampleModel();
+        int width = img.getWidth();
+        int height = img.getHeight();
+        int originX = -raster.getSampleModelTranslateX();
+        int originY = -raster.getSampleModelTranslateY();
+        int rowBytes = width * (storeAlphaChannel ? 4 : 3);
+
+        if (dataBuffer instanceof DataBufferByte
+                && dataBuffer.getNumBanks() == 1
+                && sampleModel instanceof PixelInterleavedSampleModel
+                && colorModel instanceof ComponentColorModel
+                && colorModel.getColorSpace().isCS_sRGB()
+                && (sampleModel.getNumBands() == 3 || sampleModel.getNumBands() == 4)) {
+            PixelInterleavedSampleModel model = (PixelInterleavedSampleModel) sampleModel;
+            byte[] data = ((DataBufferByte) dataBuffer).getData();
+            int[] bandOffsets = model.getBandOffsets();
+            int pixelStride = model.getPixelStride();
+            int scanlineStride = model.getScanlineStride();
+            int r = bandOffsets[0];
+            int g = bandOffsets[1];
+            int b = bandOffsets[2];
+            int a = model.getNumBands() == 4 ? bandOffsets[3] : -1;
+
+            for (int y = height - 1; y >= 0; y--) {
+                int p = dataBuffer.getOffset() + (y + originY) * scanlineStride + originX * pixelStride;
+                int o = 0;
+                for (int x = 0; x < width; x++) {
+                    row[o++] = data[p + r];
+                    row[o++] = data[p + g];
+                    row[o++] = data[p + b];
+                    if (storeAlphaChannel) {
+                        row[o++] = a < 0 ? (byte) 0xFF : data[p + a];
+                    }
+                    p += pixelStride;
+                }
+                out.put(row, 0, rowBytes);
+            }
+            return true;
+        }
+
+        if (dataBuffer instanceof DataBufferInt
+                && dataBuffer.getNumBanks() == 1
+                && sampleModel instanceof SinglePixelPackedSampleModel
+                && colorModel instanceof DirectColorModel) {
+            DirectColorModel direct = (DirectColorModel) colorModel;
+            boolean hasAlpha = direct.hasAlpha();
+            if (direct.getRedMask() != 0xFF0000 || direct.getGreenMask() != 0xFF00 || direct.getBlueMask() != 0xFF
+                    || (hasAlpha && direct.getAlphaMask() != 0xFF000000)) {
+                return false;
+            }
+            int[] data = ((DataBufferInt) dataBuffer).getData();
+            int scanlineStride = ((SinglePixelPackedSampleModel) sampleModel).getScanlineStride();
+
+            for (int y = height - 1; y >= 0; y--) {
+                int p = dataBuffer.getOffset() + (y + originY) * scanlineStride + originX;
+                int o = 0;
+                for (int x = 0; x < width; x++) {
+                    int packedPixel = data[p++];
+                    row[o++] = (byte) (packedPixel >> 16);
+                    row[o++] = (byte) (packedPixel >> 8);
+                    row[o++] = (byte) packedPixel;
+                    if (storeAlphaChannel) {
+                        row[o++] = hasAlpha ? (byte) (packedPixel >>> 24) : (byte) 0xFF;
+                    }
+                }
+                out.put(row, 0, rowBytes);
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Original path for any image: grab ARGB ints, then put bytes one at a time
+     */
+    private static void unpackGrabbed(BufferedImage img, boolean storeAlphaChannel, ByteBuffer unpackedPixels) {
         int[] packedPixels = new int[img.getWidth() * img.getHeight()];
 
         PixelGrabber pixelgrabber = new PixelGrabber(img, 0, 0, img.getWidth(), img.getHeight(), packedPixels, 0, img.getWidth());
@@ -42,9 +221,6 @@ public class TextureReader {
             throw new RuntimeException();
         }
 
-        int bytesPerPixel = storeAlphaChannel ? 4 : 3;
-        ByteBuffer unpackedPixels = BufferUtil.newByteBuffer(packedPixels.length * bytesPerPixel);
-
         for (int row = img.getHeight() - 1; row >= 0; row--) {
             for (int col = 0; col < img.getWidth(); col++) {
                 int packedPixel = packedPixels[row * img.getWidth() + col];
@@ -56,24 +232,65 @@ public class TextureReader {
                 }
             }
         }
+    }
 
+    /**
+     * Convert through PixelGrabber only, for comparison with the fast path
+     */
+    static Texture readPixelsGrabbed(BufferedImage img, boolean storeAlphaChannel) {
+        int bytesPerPixel = storeAlphaChannel ? 4 : 3;
+        ByteBuffer unpackedPixels = BufferUtil.newByteBuffer(img.getWidth() * img.getHeight() * bytesPerPixel);
+        unpackGrabbed(img, storeAlphaChannel, unpackedPixels);
         unpackedPixels.flip();
+        return new Texture(unpackedPixels, img.getWidth(), img.getHeight());
+    }
 
+    /**
+     * Converts images into one direct buffer that is reused from call to call,
+     * for pixels that are only needed until they are uploaded.
+     * The Texture returned by decode() is overwritten by the next decode().
+     */
+    public static class Decoder {
+        private ByteBuffer buffer;
+        private byte[] row = new byte[0];
 
-        return new Texture(unpackedPixels, img.getWidth(), img.getHeight());
+        public Texture decode(BufferedImage img, boolean storeAlphaChannel) {
+            int bytesPerPixel = storeAlphaChannel ? 4 : 3;
+            int size = img.getWidth() * img.getHeight() * bytesPerPixel;
+            if (buffer == null || buffer.capacity() < size) {
+                buffer = BufferUtil.newByteBuffer(size);
+            }
+            if (row.length < img.getWidth() * bytesPerPixel) {
+                row = new byte[img.getWidth() * bytesPerPixel];
+            }
+
+            buffer.clear();
+            unpack(img, storeAlphaChannel, buffer, row);
+            buffer.flip();
+            return new Texture(buffer, img.getWidth(), img.getHeight());
+        }
     }
 
     public static class Texture
     {
+        private static final Texture[] NO_LEVELS = new Texture[0];
+
         private ByteBuffer pixels;
         private int width;
         private int height;
+        private Texture[] mipLevels; // Levels 1..n, smallest last
 
         public Texture( ByteBuffer pixels, int width, int height )
+        {
+            this(pixels, width, height, NO_LEVELS);
+        }
+
+        public Texture( ByteBuffer pixels, int width, int height, Texture[] mipLevels )
         {
             this.height = height;
             this.pixels = pixels;
             this.width = width;
+            this.mipLevels = mipLevels;
         }
 
         public int getWidth()
@@ -91,5 +308,26 @@ public class TextureReader {
             return pixels;
         }
 
+        public int getBytesPerPixel()
+        {
+            return pixels.limit() / (width * height);
+        }
+
+        /**
+         * Number of mip levels including this one; 1 when none were precomputed
+         */
+        public int getMipLevelCount()
+        {
+            return mipLevels.length + 1;
+        }
+
+        /**
+         * Mip level, 0 being this texture
+         */
+        public Texture getMipLevel(int level)
+        {
+            return level == 0 ? this : mipLevels[level - 1];
+        }
+
     }
 }
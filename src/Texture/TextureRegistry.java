@@ -0,0 +1,130 @@
+package Texture;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Process-wide store of decoded textures, keyed by file name.
+ * Every listener and entity acquires its images here, so a file is decoded
+ * once and the same Texture object is shared by everyone; GL names for it are
+ * then created once per context by GLTextureCache. Textures are reference
+ * counted: release() marks a texture unused but keeps its pixels, so a board
+ * re-initialised on a new context finds them already decoded. trim() frees the
+ * pixels of everything no longer in use; GameManager calls it when a game stops.
+ */
+public class TextureRegistry {
+
+    private static class Entry {
+        volatile TextureReader.Texture texture;  // null until decoded
+        int references;
+    }
+
+    private static final Map<String, Entry> ENTRIES = new HashMap<String, Entry>();
+
+    private TextureRegistry() {}
+
+    /**
+     * Decoded texture for the file, decoding it on first use.
+     * Different files decode concurrently; callers asking for a file that is
+     * still being decoded wait for that decode instead of starting another.
+     * Each call must be paired with a release() of the same file name.
+     */
+    public static TextureReader.Texture acquire(String filename) throws IOException {
+        return acquire(filename, 0, 0);
+    }
+
+    /**
+     * Texture for the file shrunk to its largest displayed size, with mip levels
+     * (see TextureReader.readTexture). Each size is a separate entry; release it
+     * with the same size.
+     */
+    public static TextureReader.Texture acquire(String filename, int maxWidth, int maxHeight) throws IOException {
+        String key = key(filename, maxWidth, maxHeight);
+        Entry entry;
+        synchronized (TextureRegistry.class) {
+            entry = ENTRIES.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                ENTRIES.put(key, entry);
+            }
+            entry.references++;
+        }
+
+        synchronized (entry) {
+            if (entry.texture == null) {
+                try {
+                    entry.texture = TextureReader.readTexture(filename, true, maxWidth, maxHeight);
+                } catch (IOException e) {
+                    release(filename, maxWidth, maxHeight);
+                    throw e;
+                } catch (RuntimeException e) {
+                    release(filename, maxWidth, maxHeight);
+                    throw e;
+                }
+            }
+            return entry.texture;
+        }
+    }
+
+    public static void release(String filename) {
+        release(filename, 0, 0);
+    }
+
+    public static synchronized void release(String filename, int maxWidth, int maxHeight) {
+        String key = key(filename, maxWidth, maxHeight);
+        Entry entry = ENTRIES.get(key);
+        if (entry != null && entry.references > 0) {
+            entry.references--;
+            if (entry.references == 0 && entry.texture == null) {
+                ENTRIES.remove(key); // Failed decode, let the next acquire retry
+            }
+        }
+    }
+
+    /**
+     * Forget every texture nobody holds, letting its pixels be collected
+     * @return number of textures dropped
+     */
+    public static synchronized int trim() {
+        int dropped = 0;
+        Iterator<Entry> it = ENTRIES.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().references == 0) {
+                it.remove();
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    public static boolean isLoaded(String filename) {
+        return isLoaded(filename, 0, 0);
+    }
+
+    /**
+     * Whether the file is decoded at the size acquire(filename, maxWidth, maxHeight) asks for
+     */
+    public static synchronized boolean isLoaded(String filename, int maxWidth, int maxHeight) {
+        Entry entry = ENTRIES.get(key(filename, maxWidth, maxHeight));
+        return entry != null && entry.texture != null;
+    }
+
+    public static int getReferenceCount(String filename) {
+        return getReferenceCount(filename, 0, 0);
+    }
+
+    public static synchronized int getReferenceCount(String filename, int maxWidth, int maxHeight) {
+        Entry entry = ENTRIES.get(key(filename, maxWidth, maxHeight));
+        return entry == null ? 0 : entry.references;
+    }
+
+    private static String key(String filename, int maxWidth, int maxHeight) {
+        return maxWidth > 0 && maxHeight > 0 ? filename + "@" + maxWidth + "x" + maxHeight : filename;
+    }
+
+    public static synchronized int size() {
+        return ENTRIES.size();
+    }
+}
@@ -0,0 +1,111 @@
+package Texture;
+
+import com.sun.opengl.util.BufferUtil;
+import java.nio.ByteBuffer;
+
+/**
+ * Shrinks textures to the size they are displayed at and precomputes their
+ * mip levels, so neither the decoder, the disk cache nor the GPU carries
+ * pixels that are never seen. Filtering is a box filter over every source
+ * pixel a target pixel covers; with alpha, colors are weighted by alpha so
+ * transparent pixels do not darken sprite edges the way gluBuild2DMipmaps does.
+ */
+public class TextureResampler {
+
+    private TextureResampler() {}
+
+    /**
+     * Texture scaled down to at most maxWidth x maxHeight, each axis on its own
+     * (textures are stretched onto their quads anyway). Never scales up.
+     */
+    public static TextureReader.Texture fit(TextureReader.Texture texture, int maxWidth, int maxHeight) {
+        int width = Math.max(1, Math.min(texture.getWidth(), maxWidth));
+        int height = Math.max(1, Math.min(texture.getHeight(), maxHeight));
+        if (width == texture.getWidth() && height == texture.getHeight()) {
+            return texture;
+        }
+        return resample(texture, width, height);
+    }
+
+    /**
+     * The same texture with its complete mip chain down to 1x1 attached
+     */
+    public static TextureReader.Texture withMipmaps(TextureReader.Texture texture) {
+        int count = 1;
+        for (int w = texture.getWidth(), h = texture.getHeight(); w > 1 || h > 1; count++) {
+            w = Math.max(1, w / 2);
+            h = Math.max(1, h / 2);
+        }
+
+        TextureReader.Texture[] levels = new TextureReader.Texture[count - 1];
+        TextureReader.Texture previous = texture;
+        for (int i = 0; i < levels.length; i++) {
+            previous = resample(previous, Math.max(1, previous.getWidth() / 2), Math.max(1, previous.getHeight() / 2));
+            levels[i] = previous;
+        }
+        return new TextureReader.Texture(texture.getPixels(), texture.getWidth(), texture.getHeight(), levels);
+    }
+
+    /**
+     * Box-filter the texture to exactly width x height
+     */
+    public static TextureReader.Texture resample(TextureReader.Texture texture, int width, int height) {
+        int srcWidth = texture.getWidth();
+        int srcHeight = texture.getHeight();
+        int bytesPerPixel = texture.getBytesPerPixel();
+
+        byte[] src = new byte[srcWidth * srcHeight * bytesPerPixel];
+        ByteBuffer pixels = texture.getPixels().duplicate();
+        pixels.rewind();
+        pixels.get(src);
+
+        byte[] dst = new byte[width * height * bytesPerPixel];
+        long[] sum = new long[4]; // Long: a big source area times 255 * 255 overflows int
+        int out = 0;
+        for (int ty = 0; ty < height; ty++) {
+            int y0 = (int) ((long) ty * srcHeight / height);
+            int y1 = Math.max(y0 + 1, (int) ((long) (ty + 1) * srcHeight / height));
+            for (int tx = 0; tx < width; tx++) {
+                int x0 = (int) ((long) tx * srcWidth / width);
+                int x1 = Math.max(x0 + 1, (int) ((long) (tx + 1) * srcWidth / width));
+
+                sum[0] = sum[1] = sum[2] = sum[3] = 0;
+                for (int y = y0; y < y1; y++) {
+                    int in = (y * srcWidth + x0) * bytesPerPixel;
+                    for (int x = x0; x < x1; x++, in += bytesPerPixel) {
+                        if (bytesPerPixel == 4) {
+                            int a = src[in + 3] & 0xFF;
+                            sum[0] += (src[in] & 0xFF) * a;
+                            sum[1] += (src[in + 1] & 0xFF) * a;
+                            sum[2] += (src[in + 2] & 0xFF) * a;
+                            sum[3] += a;
+                        } else {
+                            sum[0] += src[in] & 0xFF;
+                            sum[1] += src[in + 1] & 0xFF;
+                            sum[2] += src[in + 2] & 0xFF;
+                        }
+                    }
+                }
+
+                int count = (x1 - x0) * (y1 - y0);
+                if (bytesPerPixel == 4) {
+                    long alpha = sum[3];
+                    for (int c = 0; c < 3; c++) {
+                        dst[out + c] = (byte) (alpha == 0 ? 0 : (sum[c] + alpha / 2) / alpha);
+                    }
+                    dst[out + 3] = (byte) ((alpha + count / 2) / count);
+                } else {
+                    for (int c = 0; c < 3; c++) {
+                        dst[out + c] = (byte) ((sum[c] + count / 2) / count);
+                    }
+                }
+                out += bytesPerPixel;
+            }
+        }
+
+        ByteBuffer buffer = BufferUtil.newByteBuffer(dst.length);
+        buffer.put(dst);
+        buffer.flip();
+        return new TextureReader.Texture(buffer, width, height);
+    }
+}
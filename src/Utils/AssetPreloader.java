@@ -0,0 +1,231 @@
+package Utils;
+
+import Texture.TextureReader;
+import Texture.TextureRegistry;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+
+/**
+ * Loads images, textures and sounds on a pool of worker threads.
+ * loadManifest() queues every asset listed in the manifest at startup; code
+ * that needs an asset asks for its Future (image(), texture(), sound()) and
+ * only blocks, through await(), if that asset is not decoded yet.
+ * Each asset is loaded at most once, whether or not it is in the manifest.
+ * Images are handed over with takeImage(), after which the preloader no
+ * longer holds them, so full-size pictures live only as long as their user.
+ *
+ * Manifest lines are "<kind> <path>", kind being image, texture or sound;
+ * a texture may name its display size first ("texture 75x75 <path>").
+ * Blank lines and lines starting with # are ignored.
+ */
+public class AssetPreloader {
+
+    public static final String DEFAULT_MANIFEST = "src//Assets//manifest.txt";
+
+    private static AssetPreloader shared;
+
+    private final ExecutorService pool;
+    private final ConcurrentMap<String, Future<?>> futures = new ConcurrentHashMap<String, Future<?>>();
+
+    public static synchronized AssetPreloader shared() {
+        if (shared == null) {
+            shared = new AssetPreloader(Runtime.getRuntime().availableProcessors());
+        }
+        return shared;
+    }
+
+    public AssetPreloader(int threads) {
+        final AtomicInteger count = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(1, threads), new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "AssetPreloader-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1); // Leave the UI thread responsive
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Queue every asset listed in the manifest
+     * @return number of entries queued
+     */
+    public int loadManifest(String manifestPath) throws IOException {
+        int queued = 0;
+        BufferedReader reader = new BufferedReader(new FileReader(manifestPath));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                int space = line.indexOf(' ');
+                if (space < 0) {
+                    throw new IOException("Malformed manifest line: " + line);
+                }
+                String kind = line.substring(0, space);
+                String path = line.substring(space + 1).trim();
+                if (kind.equals("image")) {
+                    image(path);
+                } else if (kind.equals("texture")) {
+                    int[] size = parseSize(path);
+                    if (size != null) {
+                        path = path.substring(path.indexOf(' ') + 1).trim();
+                        texture(path, size[0], size[1]);
+                    } else {
+                        texture(path);
+                    }
+                } else if (kind.equals("sound")) {
+                    sound(path);
+                } else {
+                    throw new IOException("Unknown asset kind in manifest: " + kind);
+                }
+                queued++;
+            }
+        } finally {
+            reader.close();
+        }
+        return queued;
+    }
+
+    /**
+     * {width, height} from a leading "WxH " token, or null if the line has none
+     */
+    private static int[] parseSize(String text) {
+        int space = text.indexOf(' ');
+        if (space < 0) return null;
+        String token = text.substring(0, space);
+        int x = token.indexOf('x');
+        if (x <= 0) return null;
+        try {
+            return new int[] {Integer.parseInt(token.substring(0, x)), Integer.parseInt(token.substring(x + 1))};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ==================== ASSETS ====================
+
+    /**
+     * Decoded image, e.g. for Swing screens
+     */
+    @SuppressWarnings("unchecked")
+    public Future<BufferedImage> image(String path) {
+        return (Future<BufferedImage>) load("image:" + path, imageLoader(path));
+    }
+
+    /**
+     * The image like image(), but forgotten by the preloader; for callers that
+     * keep what they need (e.g. a scaled copy) and let the decoded image go
+     */
+    @SuppressWarnings("unchecked")
+    public Future<BufferedImage> takeImage(String path) {
+        String key = "image:" + path;
+        Future<?> future;
+        synchronized (futures) {
+            future = futures.remove(key);
+        }
+        return future != null ? (Future<BufferedImage>) future : pool.submit(imageLoader(path));
+    }
+
+    private static Callable<BufferedImage> imageLoader(final String path) {
+        return new Callable<BufferedImage>() {
+            public BufferedImage call() throws IOException {
+                return TextureReader.readBufferedImage(path);
+            }
+        };
+    }
+
+    /**
+     * Texture decoded into the shared TextureRegistry, where boards pick it up
+     */
+    public Future<TextureReader.Texture> texture(String path) {
+        return texture(path, 0, 0);
+    }
+
+    /**
+     * Texture shrunk to its display size, see TextureRegistry.acquire(String, int, int)
+     */
+    @SuppressWarnings("unchecked")
+    public Future<TextureReader.Texture> texture(final String path, final int maxWidth, final int maxHeight) {
+        String key = "texture:" + path + "@" + maxWidth + "x" + maxHeight;
+        return (Future<TextureReader.Texture>) load(key, new Callable<TextureReader.Texture>() {
+            public TextureReader.Texture call() throws IOException {
+                // Leave it decoded but unreferenced, like a texture of a finished game
+                TextureReader.Texture texture = TextureRegistry.acquire(path, maxWidth, maxHeight);
+                TextureRegistry.release(path, maxWidth, maxHeight);
+                return texture;
+            }
+        });
+    }
+
+    /**
+     * Opened audio clip, or null if the file does not exist
+     */
+    @SuppressWarnings("unchecked")
+    public Future<Clip> sound(final String path) {
+        return (Future<Clip>) load("sound:" + path, new Callable<Clip>() {
+            public Clip call() throws Exception {
+                File soundFile = new File(path);
+                if (!soundFile.exists()) {
+                    return null;
+                }
+                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
+                Clip clip = AudioSystem.getClip();
+                clip.open(audioIn);
+                return clip;
+            }
+        });
+    }
+
+    private Future<?> load(String key, Callable<?> loader) {
+        Future<?> future = futures.get(key);
+        if (future == null) {
+            synchronized (futures) {
+                future = futures.get(key);
+                if (future == null) {
+                    future = pool.submit(loader);
+                    futures.put(key, future);
+                }
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Wait for an asset; a failed load is reported and gives null
+     */
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            System.err.println("Error loading asset: " + e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Stop the workers once loading is no longer needed; queued loads are dropped
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,195 @@
+package Utils;
+
+import Entities.Tile;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 8-Queens conflict tracking for a list of ducks.
+ * The detector counts how many ducks sit on every row, column and diagonal;
+ * a duck is attacked exactly when one of its four lines holds another duck,
+ * and the board is solved when no line holds two. update() recounts the
+ * whole board, moveDuck() adjusts the counters for a single move in O(1),
+ * and refresh() only touches the ducks' safe flags when something changed,
+ * so idle frames do no conflict work. Keep one instance per board.
+ * Moves arrive on the input thread while frames read on the GL thread,
+ * so the public methods are synchronized.
+ */
+public class ConflictDetector {
+
+    private int width;
+    private int height;
+
+    private int[] rowCount;       // indexed by y
+    private int[] columnCount;    // indexed by x
+    private int[] risingCount;    // indexed by x + y
+    private int[] fallingCount;   // indexed by x - y + height - 1
+
+    private List<Tile> ducks;
+    private int overloadedLines;  // lines holding two or more ducks
+    private boolean dirty;
+
+    /**
+     * Detector sized for both boards of two-player mode (16 x 8)
+     */
+    public ConflictDetector() {
+        this(16, 8);
+    }
+
+    public ConflictDetector(int width, int height) {
+        allocate(width, height);
+    }
+
+    private void allocate(int width, int height) {
+        this.width = width;
+        this.height = height;
+        rowCount = new int[height];
+        columnCount = new int[width];
+        risingCount = new int[width + height - 1];
+        fallingCount = new int[width + height - 1];
+    }
+
+    /**
+     * Recount the board from the given ducks, which later moves are assumed to belong to.
+     * @return number of ducks under attack
+     */
+    public synchronized int update(List<Tile> ducks) {
+        this.ducks = ducks;
+
+        int maxX = width - 1;
+        int maxY = height - 1;
+        for (int i = 0; i < ducks.size(); i++) {
+            Tile duck = ducks.get(i);
+            maxX = Math.max(maxX, duck.getX());
+            maxY = Math.max(maxY, duck.getY());
+        }
+        if (maxX >= width || maxY >= height) {
+            allocate(maxX + 1, maxY + 1);
+        } else {
+            Arrays.fill(rowCount, 0);
+            Arrays.fill(columnCount, 0);
+            Arrays.fill(risingCount, 0);
+            Arrays.fill(fallingCount, 0);
+        }
+
+        overloadedLines = 0;
+        for (int i = 0; i < ducks.size(); i++) {
+            Tile duck = ducks.get(i);
+            if (duck.getX() >= 0 && duck.getY() >= 0) { // Ducks left or below the board are on no line
+                add(duck.getX(), duck.getY());
+            }
+        }
+        dirty = true;
+
+        int attacked = 0;
+        for (int i = 0; i < ducks.size(); i++) {
+            if (isAttacked(ducks.get(i))) {
+                attacked++;
+            }
+        }
+        return attacked;
+    }
+
+    /**
+     * Recount the board and mark every duck safe or attacked for drawing.
+     * @return true if the board is solved
+     */
+    public synchronized boolean apply(List<Tile> ducks) {
+        update(ducks);
+        refresh();
+        return isSolved();
+    }
+
+    /**
+     * Account for one duck of the tracked list having moved from (fromX, fromY)
+     * to the square it stands on now. Ducks that are not in the tracked list,
+     * such as one of an earlier level still being dragged, are ignored.
+     */
+    public synchronized void moveDuck(Tile duck, int fromX, int fromY) {
+        if (ducks == null || !ducks.contains(duck)) {
+            return;
+        }
+        int toX = duck.getX();
+        int toY = duck.getY();
+        if (toX < 0 || toY < 0 || toX >= width || toY >= height || !isCounted(fromX, fromY)) {
+            // The counters do not match the move, so a recount sees the duck where it is
+            update(ducks);
+            return;
+        }
+        remove(fromX, fromY);
+        add(toX, toY);
+        dirty = true;
+    }
+
+    /**
+     * Copy the attack state into the tracked ducks' safe flags if anything moved since the last call
+     */
+    public synchronized void refresh() {
+        if (!dirty || ducks == null) {
+            return;
+        }
+        for (int i = 0; i < ducks.size(); i++) {
+            Tile duck = ducks.get(i);
+            duck.setSafe(!isAttacked(duck));
+        }
+        dirty = false;
+    }
+
+    /**
+     * Whether another tracked duck shares a line with this one
+     */
+    public synchronized boolean isAttacked(Tile duck) {
+        int x = duck.getX();
+        int y = duck.getY();
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        return rowCount[y] > 1
+                || columnCount[x] > 1
+                || risingCount[x + y] > 1
+                || fallingCount[x - y + height - 1] > 1;
+    }
+
+    public synchronized boolean isSolved() {
+        return ducks != null && !ducks.isEmpty() && overloadedLines == 0;
+    }
+
+    // ==================== COUNTERS ====================
+
+    /**
+     * Whether every line through the square holds a duck, so one can be removed from it
+     */
+    private boolean isCounted(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height
+                && rowCount[y] > 0
+                && columnCount[x] > 0
+                && risingCount[x + y] > 0
+                && fallingCount[x - y + height - 1] > 0;
+    }
+
+    private void add(int x, int y) {
+        increment(rowCount, y);
+        increment(columnCount, x);
+        increment(risingCount, x + y);
+        increment(fallingCount, x - y + height - 1);
+    }
+
+    private void remove(int x, int y) {
+        decrement(rowCount, y);
+        decrement(columnCount, x);
+        decrement(risingCount, x + y);
+        decrement(fallingCount, x - y + height - 1);
+    }
+
+    private void increment(int[] counts, int index) {
+        if (++counts[index] == 2) {
+            overloadedLines++;
+        }
+    }
+
+    private void decrement(int[] counts, int index) {
+        if (counts[index]-- == 2) {
+            overloadedLines--;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package Utils;
+
+import Entities.Tile;
+
+/**
+ * Notified by InputHandler whenever a dragged duck lands on a different square
+ */
+public interface DuckMoveListener {
+    void duckMoved(Tile duck, int fromX, int fromY);
+}
@@ -0,0 +1,91 @@
+package Utils;
+
+/**
+ * Monotonic game clock driving a fixed-timestep simulation.
+ * Each frame calls advance(), runs the returned number of simulation steps of
+ * getStepMillis() each, then renders with getAlpha() to interpolate between
+ * the last two steps. Game speed therefore no longer depends on how often
+ * frames are drawn, so the render rate can be capped freely.
+ * Time comes from System.nanoTime(), which wall-clock adjustments do not affect.
+ */
+public class GameClock {
+
+    public static final long DEFAULT_STEP_NANOS = 10000000L;     // 10 ms, 100 steps per second
+    public static final long DEFAULT_MAX_FRAME_NANOS = 250000000L; // Longest frame simulated in full
+
+    private final long stepNanos;
+    private final long maxFrameNanos;
+
+    private long lastTime = -1;
+    private long accumulator;
+
+    public GameClock() {
+        this(DEFAULT_STEP_NANOS, DEFAULT_MAX_FRAME_NANOS);
+    }
+
+    /**
+     * @param stepNanos     length of one simulation step
+     * @param maxFrameNanos longer gaps between frames are cut to this, so a stall
+     *                      is not followed by a burst of catch-up steps;
+     *                      Long.MAX_VALUE simulates every gap in full
+     */
+    public GameClock(long stepNanos, long maxFrameNanos) {
+        if (stepNanos <= 0) {
+            throw new IllegalArgumentException("Step must be positive: " + stepNanos);
+        }
+        this.stepNanos = stepNanos;
+        this.maxFrameNanos = maxFrameNanos;
+    }
+
+    /**
+     * Take the time elapsed since the previous call into account
+     * @return number of simulation steps to run this frame
+     */
+    public int advance() {
+        return advance(System.nanoTime());
+    }
+
+    /**
+     * advance() with an explicit time, for headless runs
+     */
+    public int advance(long nowNanos) {
+        if (lastTime < 0) {
+            lastTime = nowNanos;
+            return 0;
+        }
+        long elapsed = Math.min(nowNanos - lastTime, maxFrameNanos);
+        lastTime = nowNanos;
+
+        accumulator += Math.max(0, elapsed);
+        long steps = accumulator / stepNanos;
+        accumulator -= steps * stepNanos;
+        return (int) Math.min(steps, Integer.MAX_VALUE);
+    }
+
+    /**
+     * How far the current time is between the last step and the next one (0 to 1)
+     */
+    public float getAlpha() {
+        return (float) accumulator / stepNanos;
+    }
+
+    /**
+     * Forget elapsed time, e.g. after a pause
+     */
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    public long getStepMillis() {
+        return stepNanos / 1000000L;
+    }
+
+    public float getStepSeconds() {
+        return stepNanos / 1e9f;
+    }
+}
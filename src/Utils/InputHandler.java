@@ -2,17 +2,23 @@ package Utils;
 
 import Entities.Tile;
 import java.awt.event.*;
+import java.util.ArrayList;
 import java.util.List;
 
 public class InputHandler implements MouseListener, MouseMotionListener {
 
     private List<Tile> ducks;
     private Tile selectedDuck = null;
+    private List<DuckMoveListener> moveListeners = new ArrayList<DuckMoveListener>();
 
     public InputHandler(List<Tile> ducks) {
         this.ducks = ducks;
     }
 
+    public void addMoveListener(DuckMoveListener listener) {
+        moveListeners.add(listener);
+    }
+
     public void mousePressed(MouseEvent e) {
         int mouseX = e.getX();
         int mouseY = e.getY();
@@ -30,12 +36,24 @@ public class InputHandler implements MouseListener, MouseMotionListener {
     }
 
     public void mouseDragged(MouseEvent e) {
+        if (selectedDuck != null && !ducks.contains(selectedDuck)) {
+            // The list was rebuilt for a new level while this duck was held
+            selectedDuck.setHighlighted(false);
+            selectedDuck = null;
+        }
         if (selectedDuck != null) {
             int gridX = e.getX() / 50;
             int gridY = (600 - e.getY()) / 50;
             if (gridX >= 0 && gridX < 16 && gridY >= 0 && gridY < 8) {
+                int fromX = selectedDuck.getX();
+                int fromY = selectedDuck.getY();
+                if (fromX == gridX && fromY == gridY) return;
+
                 selectedDuck.setX(gridX);
                 selectedDuck.setY(gridY);
+                for (DuckMoveListener listener : moveListeners) {
+                    listener.duckMoved(selectedDuck, fromX, fromY);
+                }
             }
         }
     }
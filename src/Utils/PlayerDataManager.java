@@ -5,13 +5,25 @@ import java.io.*;
 import java.util.*;
 
 /**
- * Manages saving and loading player data to/from files
+ * Manages saving and loading player data to/from files.
+ * Statistics and high scores live in an append-only PlayerRecordLog, so
+ * saving after a game appends one record instead of rewriting every player.
+ * The log is read once into memory and serves every query from there;
+ * saves update memory and are written shortly after by a background thread,
+ * so the game thread never waits for the disk. Pending saves are written on exit.
+ * Data from the older players.dat / high_scores.dat files is imported once;
+ * they are renamed to *.imported when it succeeded and retried otherwise.
  */
 public class PlayerDataManager {
 
     private static final String SAVE_DIRECTORY = "src//PlayerData//";
-    private static final String HIGH_SCORES_FILE = "high_scores.dat";
-    private static final String PLAYERS_FILE = "players.dat";
+    private static final String HIGH_SCORES_FILE = "high_scores.dat"; // Legacy, imported on first start
+    private static final String PLAYERS_FILE = "players.dat";         // Legacy, imported on first start
+    private static final String LOG_FILE = "players.log";
+    private static final String IMPORTED_SUFFIX = ".imported"; // Appended to legacy files once imported
+    private static final long WRITE_BEHIND_MILLIS = 500; // Saves within this window share one write
+
+    private static PlayerRecordLog log;
 
     // Ensure save directory exists
     static {
@@ -21,18 +33,50 @@ public class PlayerDataManager {
         }
     }
 
+    /**
+     * The open log, replayed on first use
+     */
+    private static synchronized PlayerRecordLog log() throws IOException {
+        if (log == null) {
+            log = new PlayerRecordLog(new File(SAVE_DIRECTORY + LOG_FILE));
+            importLegacyFiles(log);
+            log.startWriteBehind(WRITE_BEHIND_MILLIS);
+
+            final PlayerRecordLog opened = log;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    opened.close(); // Writes saves the flusher has not reached yet
+                } catch (IOException e) {
+                    System.err.println("Error saving player data: " + e.getMessage());
+                }
+            }, "PlayerDataManager-shutdown"));
+        }
+        return log;
+    }
+
+    /**
+     * Write pending saves now instead of waiting for the background writer
+     */
+    public static void flush() {
+        try {
+            log().flush();
+        } catch (IOException e) {
+            System.err.println("Error saving player data: " + e.getMessage());
+        }
+    }
+
     /**
      * Save player data after game ends
      */
-    public static void savePlayer(Player player) {
+    public static synchronized void savePlayer(Player player) {
         if (player == null) return;
 
         try {
-            // Load existing players
-            Map<String, PlayerData> players = loadAllPlayers();
+            PlayerRecordLog log = log();
 
             String username = player.getUsername();
-            PlayerData data = players.getOrDefault(username, new PlayerData(username));
+            PlayerData stored = log.getPlayer(username);
+            PlayerData data = stored != null ? copy(stored) : new PlayerData(username);
 
             // Update stats
             data.gamesPlayed++;
@@ -45,13 +89,18 @@ public class PlayerDataManager {
                 data.gamesWon++;
             }
 
-            players.put(username, data);
-
-            // Save to file
-            saveAllPlayers(players);
+            // Update high scores in the same write, if the score makes the table
+            HighScore newScore = null;
+            if (log.qualifies(player.getScore())) {
+                newScore = new HighScore(
+                        username,
+                        player.getScore(),
+                        player.getCurrentLevel(),
+                        new Date()
+                );
+            }
 
-            // Update high scores
-            updateHighScores(player);
+            log.putPlayer(data, newScore);
 
         } catch (Exception e) {
             System.err.println("Error saving player data: " + e.getMessage());
@@ -59,103 +108,30 @@ public class PlayerDataManager {
         }
     }
 
-    /**
-     * Load all players from file
-     */
-    private static Map<String, PlayerData> loadAllPlayers() {
-        Map<String, PlayerData> players = new HashMap<>();
-        File file = new File(SAVE_DIRECTORY + PLAYERS_FILE);
-
-        if (!file.exists()) {
-            return players;
-        }
-
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            players = (Map<String, PlayerData>) ois.readObject();
-        } catch (Exception e) {
-            System.err.println("Error loading players: " + e.getMessage());
-        }
-
-        return players;
-    }
-
-    /**
-     * Save all players to file
-     */
-    private static void saveAllPlayers(Map<String, PlayerData> players) {
-        File file = new File(SAVE_DIRECTORY + PLAYERS_FILE);
-
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
-            oos.writeObject(players);
-        } catch (Exception e) {
-            System.err.println("Error saving players: " + e.getMessage());
-        }
-    }
-
     /**
      * Get player statistics
      */
     public static PlayerData getPlayerData(String username) {
-        Map<String, PlayerData> players = loadAllPlayers();
-        return players.getOrDefault(username, new PlayerData(username));
-    }
-
-    /**
-     * Update high scores leaderboard
-     */
-    private static void updateHighScores(Player player) {
-        List<HighScore> highScores = loadHighScores();
-
-        HighScore newScore = new HighScore(
-                player.getUsername(),
-                player.getScore(),
-                player.getCurrentLevel(),
-                new Date()
-        );
-
-        highScores.add(newScore);
-
-        // Sort by score descending
-        Collections.sort(highScores, (a, b) -> Integer.compare(b.score, a.score));
-
-        // Keep only top 10
-        if (highScores.size() > 10) {
-            highScores = highScores.subList(0, 10);
+        try {
+            PlayerData stored = log().getPlayer(username);
+            if (stored != null) {
+                return copy(stored);
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading players: " + e.getMessage());
         }
-
-        saveHighScores(highScores);
+        return new PlayerData(username);
     }
 
     /**
-     * Load high scores from file
+     * Load high scores, best first
      */
     public static List<HighScore> loadHighScores() {
-        List<HighScore> scores = new ArrayList<>();
-        File file = new File(SAVE_DIRECTORY + HIGH_SCORES_FILE);
-
-        if (!file.exists()) {
-            return scores;
-        }
-
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            scores = (List<HighScore>) ois.readObject();
-        } catch (Exception e) {
+        try {
+            return log().getHighScores();
+        } catch (IOException e) {
             System.err.println("Error loading high scores: " + e.getMessage());
-        }
-
-        return scores;
-    }
-
-    /**
-     * Save high scores to file
-     */
-    private static void saveHighScores(List<HighScore> scores) {
-        File file = new File(SAVE_DIRECTORY + HIGH_SCORES_FILE);
-
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
-            oos.writeObject(scores);
-        } catch (Exception e) {
-            System.err.println("Error saving high scores: " + e.getMessage());
+            return new ArrayList<>();
         }
     }
 
@@ -171,36 +147,136 @@ public class PlayerDataManager {
      * Check if username exists
      */
     public static boolean usernameExists(String username) {
-        Map<String, PlayerData> players = loadAllPlayers();
-        return players.containsKey(username);
+        try {
+            return log().containsPlayer(username);
+        } catch (IOException e) {
+            System.err.println("Error loading players: " + e.getMessage());
+            return false;
+        }
     }
 
     /**
      * Get all player names
      */
     public static List<String> getAllPlayerNames() {
-        Map<String, PlayerData> players = loadAllPlayers();
-        return new ArrayList<>(players.keySet());
+        try {
+            return log().getPlayerNames();
+        } catch (IOException e) {
+            System.err.println("Error loading players: " + e.getMessage());
+            return new ArrayList<>();
+        }
     }
 
     /**
      * Delete player data
      */
     public static void deletePlayer(String username) {
-        Map<String, PlayerData> players = loadAllPlayers();
-        players.remove(username);
-        saveAllPlayers(players);
+        try {
+            log().deletePlayer(username);
+        } catch (IOException e) {
+            System.err.println("Error saving players: " + e.getMessage());
+        }
     }
 
     /**
      * Clear all data (for testing)
      */
     public static void clearAllData() {
+        try {
+            log().clear();
+        } catch (IOException e) {
+            System.err.println("Error clearing player data: " + e.getMessage());
+        }
+
         File playersFile = new File(SAVE_DIRECTORY + PLAYERS_FILE);
         File scoresFile = new File(SAVE_DIRECTORY + HIGH_SCORES_FILE);
 
         playersFile.delete();
         scoresFile.delete();
+        new File(playersFile.getPath() + IMPORTED_SUFFIX).delete();
+        new File(scoresFile.getPath() + IMPORTED_SUFFIX).delete();
+    }
+
+    private static PlayerData copy(PlayerData data) {
+        PlayerData copy = new PlayerData(data.username);
+        copy.gamesPlayed = data.gamesPlayed;
+        copy.gamesWon = data.gamesWon;
+        copy.totalScore = data.totalScore;
+        copy.highScore = data.highScore;
+        copy.totalLevels = data.totalLevels;
+        copy.firstPlayed = data.firstPlayed;
+        copy.lastPlayed = data.lastPlayed;
+        return copy;
+    }
+
+    // ==================== LEGACY FILES ====================
+
+    /**
+     * Merge players.dat and high_scores.dat into the log, then rename them to
+     * *.imported. Both files are read completely before anything is stored, and
+     * the log keeps its own (newer) copy of a player and any score it already
+     * has, so an import that failed part way is simply done again next start.
+     */
+    @SuppressWarnings("unchecked")
+    private static void importLegacyFiles(PlayerRecordLog log) {
+        File playersFile = new File(SAVE_DIRECTORY + PLAYERS_FILE);
+        File scoresFile = new File(SAVE_DIRECTORY + HIGH_SCORES_FILE);
+        if (!playersFile.exists() && !scoresFile.exists()) return;
+
+        try {
+            Collection<PlayerData> players = Collections.emptyList();
+            List<HighScore> scores = Collections.emptyList();
+            if (playersFile.exists()) {
+                try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(playersFile))) {
+                    players = ((Map<String, PlayerData>) ois.readObject()).values();
+                }
+            }
+            if (scoresFile.exists()) {
+                try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(scoresFile))) {
+                    scores = (List<HighScore>) ois.readObject();
+                }
+            }
+
+            for (PlayerData data : players) {
+                if (!log.containsPlayer(data.username)) {
+                    log.putPlayer(data);
+                }
+            }
+            List<HighScore> stored = log.getHighScores();
+            for (HighScore score : scores) {
+                if (!containsScore(stored, score)) {
+                    log.addHighScore(score);
+                }
+            }
+            log.compact();
+
+            retire(playersFile);
+            retire(scoresFile);
+        } catch (Exception e) {
+            System.err.println("Error importing old player data, keeping " + PLAYERS_FILE + " and "
+                    + HIGH_SCORES_FILE + " to retry next start: " + e);
+        }
+    }
+
+    private static boolean containsScore(List<HighScore> scores, HighScore score) {
+        for (HighScore other : scores) {
+            if (other.score == score.score && other.level == score.level
+                    && Objects.equals(other.username, score.username)
+                    && Objects.equals(other.date, score.date)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void retire(File legacyFile) throws IOException {
+        if (legacyFile.exists()) {
+            File imported = new File(legacyFile.getPath() + IMPORTED_SUFFIX);
+            imported.delete();
+            if (!legacyFile.renameTo(imported)) {
+                throw new IOException("Cannot rename " + legacyFile);
+            }
+        }
     }
 
     // ==================== DATA CLASSES ====================
@@ -0,0 +1,555 @@
+package Utils;
+
+import Utils.PlayerDataManager.HighScore;
+import Utils.PlayerDataManager.PlayerData;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only store for player statistics and the high score table.
+ * Every change is one record appended to the end of the file: the full new
+ * state of one player, a deletion, or a new high score. Opening the log
+ * replays it into an in-memory index, so reads never touch the disk and a
+ * save costs a single small sequential write however many players there are.
+ *
+ * Records are [payload length][CRC32 of payload][payload]. A record that is
+ * cut short or fails its checksum (a crash in the middle of a write) ends the
+ * replay and is cut off the file. When most records are superseded, the log
+ * is compacted: the live state is written to a new file that replaces the old one.
+ *
+ * Changes reach the in-memory index at once. By default they are written
+ * before the call returns; after startWriteBehind() a background thread
+ * writes them instead, coalescing repeated changes to one player into a
+ * single record, so callers on the UI or GL thread never wait for the disk.
+ */
+public class PlayerRecordLog implements Closeable {
+
+    public static final int MAX_HIGH_SCORES = 10;
+
+    private static final int MAGIC = 0x38445047; // "8DPG"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+    private static final byte TYPE_PLAYER = 1;
+    private static final byte TYPE_DELETE = 2;
+    private static final byte TYPE_HIGH_SCORE = 3;
+
+    // Compact once the file holds this many records and at least twice the live ones
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    private static final long RETRY_MILLIS = 5000; // After a failed background write
+
+    private final File file;
+
+    // In-memory state, guarded by this
+    private final Map<String, PlayerData> players = new HashMap<>();
+    private final List<HighScore> highScores = new ArrayList<>();
+    private final Set<String> dirtyPlayers = new LinkedHashSet<>(); // Changed or deleted since the last write
+    private final List<HighScore> pendingScores = new ArrayList<>();
+    private Thread flusher;
+    private long writeBehindMillis;
+
+    // The file, guarded by writeLock; taken before this when both are needed
+    private final Object writeLock = new Object();
+    private FileChannel channel;
+    private int records;
+
+    /**
+     * Open the log, creating it if needed, and replay it into memory
+     */
+    public PlayerRecordLog(File file) throws IOException {
+        this.file = file;
+        open();
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * The stored statistics of a player, or null. The object belongs to the
+     * log; pass a changed copy to putPlayer() instead of modifying it.
+     */
+    public synchronized PlayerData getPlayer(String username) {
+        return players.get(username);
+    }
+
+    public synchronized boolean containsPlayer(String username) {
+        return players.containsKey(username);
+    }
+
+    public synchronized List<String> getPlayerNames() {
+        return new ArrayList<>(players.keySet());
+    }
+
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * High scores, best first
+     */
+    public synchronized List<HighScore> getHighScores() {
+        return new ArrayList<>(highScores);
+    }
+
+    /**
+     * Whether a score would enter the high score table
+     */
+    public synchronized boolean qualifies(int score) {
+        return highScores.size() < MAX_HIGH_SCORES || score > highScores.get(highScores.size() - 1).score;
+    }
+
+    /**
+     * Records in the file, live or superseded
+     */
+    public int getRecordCount() {
+        synchronized (writeLock) {
+            return records;
+        }
+    }
+
+    // ==================== UPDATES ====================
+
+    public void putPlayer(PlayerData data) throws IOException {
+        putPlayer(data, null);
+    }
+
+    /**
+     * Store a player's new state and, if not null, a new high score, in one write.
+     * With write-behind on, only the in-memory index changes here.
+     */
+    public void putPlayer(PlayerData data, HighScore score) throws IOException {
+        synchronized (this) {
+            players.put(data.username, data);
+            dirtyPlayers.add(data.username);
+            if (score != null) {
+                addHighScore(highScores, score);
+                pendingScores.add(score);
+            }
+        }
+        changed();
+    }
+
+    /**
+     * Add a score to the high score table without touching player statistics
+     */
+    public void addHighScore(HighScore score) throws IOException {
+        synchronized (this) {
+            addHighScore(highScores, score);
+            pendingScores.add(score);
+        }
+        changed();
+    }
+
+    public void deletePlayer(String username) throws IOException {
+        synchronized (this) {
+            if (players.remove(username) == null) return;
+            dirtyPlayers.add(username); // Written as a deletion, being absent
+        }
+        changed();
+    }
+
+    /**
+     * Forget everything, leaving an empty log
+     */
+    public void clear() throws IOException {
+        synchronized (this) {
+            players.clear();
+            highScores.clear();
+        }
+        compact();
+    }
+
+    // ==================== WRITE-BEHIND ====================
+
+    /**
+     * Persist changes on a background thread instead of in the calling one.
+     * The thread waits delayMillis after the first change so that changes
+     * arriving together go out in one write. close() writes what is left.
+     */
+    public synchronized void startWriteBehind(long delayMillis) {
+        if (flusher != null) return;
+        writeBehindMillis = Math.max(0, delayMillis);
+        flusher = new Thread(this::runFlusher, "PlayerRecordLog-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Whether changes are waiting for the flusher
+     */
+    public synchronized boolean hasPendingChanges() {
+        return !dirtyPlayers.isEmpty() || !pendingScores.isEmpty();
+    }
+
+    private void changed() throws IOException {
+        synchronized (this) {
+            if (flusher != null) {
+                notifyAll();
+                return;
+            }
+        }
+        flush();
+    }
+
+    private void runFlusher() {
+        Thread self = Thread.currentThread();
+        while (true) {
+            synchronized (this) {
+                while (flusher == self && !hasPendingChanges()) {
+                    waitMillis(0);
+                }
+                // Let changes made together share the write; later changes notify too, so wait out the window
+                long deadline = System.nanoTime() + writeBehindMillis * 1000000L;
+                long left;
+                while (flusher == self && (left = (deadline - System.nanoTime()) / 1000000L) > 0) {
+                    waitMillis(left);
+                }
+                if (flusher != self) return; // close() writes what is left
+            }
+
+            try {
+                flush();
+            } catch (IOException e) {
+                System.err.println("Error saving player data: " + e.getMessage());
+                synchronized (this) {
+                    if (flusher == self) waitMillis(RETRY_MILLIS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait on this log for up to millis, or until notified if millis is 0.
+     * The flusher is stopped through close(), never by interrupting it: an
+     * interrupt during a write would close the channel, so one is ignored.
+     */
+    private void waitMillis(long millis) {
+        try {
+            wait(millis);
+        } catch (InterruptedException e) {
+            // See above
+        }
+    }
+
+    /**
+     * Append every pending change in one write.
+     * The changes are taken and written under the write lock, so batches
+     * reach the file in the order they were taken, and never after a
+     * compaction that already contains them.
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            if (channel == null) {
+                throw new IOException("Player log is closed");
+            }
+
+            List<String> names;
+            List<HighScore> scores;
+            ByteArrayOutputStream batch = new ByteArrayOutputStream();
+            synchronized (this) {
+                if (!hasPendingChanges()) return;
+                names = new ArrayList<>(dirtyPlayers);
+                scores = new ArrayList<>(pendingScores);
+                for (String name : names) {
+                    PlayerData data = players.get(name);
+                    encodeRecord(batch, data != null ? encodePlayer(data) : encodeDelete(name));
+                }
+                for (HighScore score : scores) {
+                    encodeRecord(batch, encodeHighScore(score));
+                }
+                dirtyPlayers.clear();
+                pendingScores.clear();
+            }
+
+            long start = channel.position();
+            try {
+                write(channel, ByteBuffer.wrap(batch.toByteArray()));
+            } catch (IOException e) {
+                // Drop the partial batch and queue its changes again
+                try {
+                    channel.truncate(start);
+                    channel.position(start);
+                } catch (IOException ignored) {
+                    // The next open cuts off the damaged record anyway
+                }
+                synchronized (this) {
+                    dirtyPlayers.addAll(names);
+                    pendingScores.addAll(0, scores);
+                }
+                throw e;
+            }
+            records += names.size() + scores.size();
+
+            int live;
+            synchronized (this) {
+                live = players.size() + highScores.size();
+            }
+            if (records >= COMPACT_MIN_RECORDS && records >= 2 * live) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Rewrite the file with only the live state, one record per player and high score
+     */
+    public void compact() throws IOException {
+        synchronized (writeLock) {
+            if (channel == null) {
+                throw new IOException("Player log is closed");
+            }
+
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+            int live;
+            synchronized (this) {
+                writeFileHeader(snapshot);
+                for (PlayerData data : players.values()) {
+                    encodeRecord(snapshot, encodePlayer(data));
+                }
+                for (HighScore score : highScores) { // Best first, so replay rebuilds the same order
+                    encodeRecord(snapshot, encodeHighScore(score));
+                }
+                live = players.size() + highScores.size();
+                // The snapshot holds every pending change
+                dirtyPlayers.clear();
+                pendingScores.clear();
+            }
+
+            // Write beside the log and move it in place, so a crash leaves one complete file
+            File temp = new File(file.getPath() + ".tmp");
+            FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                write(out, ByteBuffer.wrap(snapshot.toByteArray()));
+                out.force(true);
+            } finally {
+                out.close();
+            }
+
+            channel.close();
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+            records = live;
+        }
+    }
+
+    /**
+     * Stop the flusher, write pending changes and close the file
+     */
+    public void close() throws IOException {
+        Thread thread;
+        synchronized (this) {
+            thread = flusher;
+            flusher = null;
+            notifyAll();
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (writeLock) {
+            if (channel == null) return;
+            try {
+                flush();
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // ==================== REPLAY ====================
+
+    private void open() throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory()) {
+            dir.mkdirs();
+        }
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            writeFileHeader(header);
+            write(channel, ByteBuffer.wrap(header.toByteArray()));
+            return;
+        }
+
+        // Read rather than map: a damaged end may have to be truncated below
+        ByteBuffer data = ByteBuffer.allocate((int) Math.min(channel.size(), Integer.MAX_VALUE));
+        while (data.hasRemaining() && channel.read(data) >= 0) {
+            // Keep reading until the whole log is in
+        }
+        data.flip();
+        if (data.remaining() < FILE_HEADER_SIZE || data.getInt() != MAGIC) {
+            channel.close();
+            throw new IOException("Not a player log: " + file);
+        }
+        int version = data.getInt();
+        if (version != VERSION) {
+            channel.close();
+            throw new IOException("Unsupported player log version " + version + ": " + file);
+        }
+
+        CRC32 crc = new CRC32();
+        long end = data.position();
+        while (data.remaining() >= RECORD_HEADER_SIZE) {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || length > data.remaining()) break;
+
+            byte[] payload = new byte[length];
+            data.get(payload);
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != checksum) break;
+
+            try {
+                apply(payload);
+            } catch (IOException e) {
+                break; // Checksum matched but the record is not ours; treat like damage
+            }
+            records++;
+            end = data.position();
+        }
+
+        if (end < channel.size()) {
+            System.err.println("Discarding damaged end of player log " + file + " after byte " + end);
+            channel.truncate(end);
+        }
+        channel.position(end);
+    }
+
+    private void apply(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        if (type == TYPE_PLAYER) {
+            PlayerData data = new PlayerData(in.readUTF());
+            data.gamesPlayed = in.readInt();
+            data.gamesWon = in.readInt();
+            data.totalScore = in.readInt();
+            data.highScore = in.readInt();
+            data.totalLevels = in.readInt();
+            data.firstPlayed = readDate(in);
+            data.lastPlayed = readDate(in);
+            players.put(data.username, data);
+        } else if (type == TYPE_DELETE) {
+            players.remove(in.readUTF());
+        } else if (type == TYPE_HIGH_SCORE) {
+            String username = in.readUTF();
+            int score = in.readInt();
+            int level = in.readInt();
+            addHighScore(highScores, new HighScore(username, score, level, readDate(in)));
+        } else {
+            throw new IOException("Unknown record type " + type);
+        }
+    }
+
+    /**
+     * Insert a score and keep the best MAX_HIGH_SCORES; earlier entries win ties
+     */
+    static void addHighScore(List<HighScore> scores, HighScore score) {
+        scores.add(score);
+        Collections.sort(scores, (a, b) -> Integer.compare(b.score, a.score));
+        while (scores.size() > MAX_HIGH_SCORES) {
+            scores.remove(scores.size() - 1);
+        }
+    }
+
+    // ==================== ENCODING ====================
+
+    private static void writeFileHeader(ByteArrayOutputStream out) {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION);
+        out.write(header.array(), 0, FILE_HEADER_SIZE);
+    }
+
+    private static void encodeRecord(ByteArrayOutputStream out, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        header.putInt(payload.length).putInt((int) crc.getValue());
+        out.write(header.array(), 0, RECORD_HEADER_SIZE);
+        out.write(payload, 0, payload.length);
+    }
+
+    private static byte[] encodePlayer(PlayerData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TYPE_PLAYER);
+        out.writeUTF(data.username);
+        out.writeInt(data.gamesPlayed);
+        out.writeInt(data.gamesWon);
+        out.writeInt(data.totalScore);
+        out.writeInt(data.highScore);
+        out.writeInt(data.totalLevels);
+        writeDate(out, data.firstPlayed);
+        writeDate(out, data.lastPlayed);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeDelete(String username) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TYPE_DELETE);
+        out.writeUTF(username);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeHighScore(HighScore score) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TYPE_HIGH_SCORE);
+        out.writeUTF(score.username);
+        out.writeInt(score.score);
+        out.writeInt(score.level);
+        writeDate(out, score.date);
+        return bytes.toByteArray();
+    }
+
+    private static void writeDate(DataOutputStream out, Date date) throws IOException {
+        out.writeLong(date == null ? Long.MIN_VALUE : date.getTime());
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        long time = in.readLong();
+        return time == Long.MIN_VALUE ? null : new Date(time);
+    }
+}
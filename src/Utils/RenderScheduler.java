@@ -0,0 +1,154 @@
+package Utils;
+
+import Entities.Tile;
+import javax.media.opengl.GLAutoDrawable;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+
+/**
+ * Repaints a drawable only when something visible changed, instead of
+ * redrawing as fast as possible like Animator. A render is requested by
+ * input (register the scheduler as a mouse and duck-move listener) or by the
+ * board itself through requestRender(delay), e.g. when the timer bar will
+ * next lose a pixel. Requests made before a pending render are merged,
+ * and renders are spaced at least 1/maxFps apart. With nothing pending the
+ * render thread sleeps, so an idle board costs no CPU.
+ */
+public class RenderScheduler implements Runnable, MouseListener, DuckMoveListener {
+
+    public static final int DEFAULT_MAX_FPS = 60;
+
+    private final GLAutoDrawable drawable;
+    private final long minFrameNanos;
+
+    private long nextRenderAt = Long.MAX_VALUE; // System.nanoTime() of the next render
+    private Thread thread;
+    private volatile boolean running;
+
+    public RenderScheduler(GLAutoDrawable drawable) {
+        this(drawable, DEFAULT_MAX_FPS);
+    }
+
+    public RenderScheduler(GLAutoDrawable drawable, int maxFps) {
+        if (maxFps <= 0) {
+            throw new IllegalArgumentException("maxFps must be positive: " + maxFps);
+        }
+        this.drawable = drawable;
+        this.minFrameNanos = 1000000000L / maxFps;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        nextRenderAt = System.nanoTime();
+        thread = new Thread(this, "RenderScheduler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop rendering and wait for the frame in progress to finish
+     */
+    public void stop() {
+        Thread t;
+        synchronized (this) {
+            if (!running) return;
+            running = false;
+            t = thread;
+            thread = null;
+            notifyAll();
+        }
+        if (t != Thread.currentThread()) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Render as soon as the frame cap allows
+     */
+    public void requestRender() {
+        requestRender(0);
+    }
+
+    /**
+     * Render after the given delay, unless an earlier render is already pending
+     */
+    public synchronized void requestRender(long delayMillis) {
+        long due = System.nanoTime() + Math.max(0, delayMillis) * 1000000L;
+        if (due < nextRenderAt) {
+            nextRenderAt = due;
+            notifyAll();
+        }
+    }
+
+    public void run() {
+        long lastRender = 0;
+        while (true) {
+            synchronized (this) {
+                while (running) {
+                    if (nextRenderAt == Long.MAX_VALUE) {
+                        waitNanos(0); // Nothing pending
+                        continue;
+                    }
+                    long wait = nextRenderAt - System.nanoTime();
+                    if (wait <= 0) break;
+                    waitNanos(wait);
+                }
+                if (!running) return;
+                nextRenderAt = Long.MAX_VALUE;
+            }
+
+            // Keep bursts of requests (e.g. a drag) under the frame cap
+            long sinceLast = System.nanoTime() - lastRender;
+            if (lastRender != 0 && sinceLast < minFrameNanos) {
+                sleepNanos(minFrameNanos - sinceLast);
+            }
+            lastRender = System.nanoTime();
+            drawable.display();
+        }
+    }
+
+    /**
+     * Wait on this scheduler for up to nanos, or until notified if nanos is 0
+     */
+    private void waitNanos(long nanos) {
+        try {
+            if (nanos == 0) {
+                wait();
+            } else {
+                wait(nanos / 1000000L, (int) (nanos % 1000000L));
+            }
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    private void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1000000L, (int) (nanos % 1000000L));
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    // ==================== INPUT ====================
+
+    public void duckMoved(Tile duck, int fromX, int fromY) {
+        requestRender();
+    }
+
+    // Pressing and releasing toggle the selected duck's highlight
+    public void mousePressed(MouseEvent e) { requestRender(); }
+    public void mouseReleased(MouseEvent e) { requestRender(); }
+    public void mouseClicked(MouseEvent e) {}
+    public void mouseEntered(MouseEvent e) {}
+    public void mouseExited(MouseEvent e) {}
+}
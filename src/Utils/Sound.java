@@ -1,8 +1,6 @@
 package Utils;
 
-import java.io.File;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
+import java.util.concurrent.Future;
 import javax.sound.sampled.Clip;
 import javax.sound.sampled.FloatControl;
 
@@ -10,11 +8,12 @@ public class Sound {
 
     private static final String SOUNDS_PATH = "src//Assets//Sounds//";
 
-    private static Clip clickClip;
-    private static Clip badMoveClip;
-    private static Clip winClip;
-    private static Clip failClip;
-    private static Clip menuMusicClip;
+    // Opened in the background by AssetPreloader, awaited on first play
+    private static Future<Clip> clickClip;
+    private static Future<Clip> badMoveClip;
+    private static Future<Clip> winClip;
+    private static Future<Clip> failClip;
+    private static Future<Clip> menuMusicClip;
 
     private static float volume = 0.5f; // Default volume 50%
 
@@ -26,20 +25,17 @@ public class Sound {
         menuMusicClip = loadClip("game_sound.wav");
     }
 
-    private static Clip loadClip(String filename) {
-        try {
-            File soundFile = new File(SOUNDS_PATH + filename);
-            if (soundFile.exists()) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                setClipVolume(clip, volume); // Set initial volume
-                return clip;
-            }
-        } catch (Exception e) {
-            System.out.println("Error loading sound: " + filename);
-        }
-        return null;
+    private static Future<Clip> loadClip(String filename) {
+        return AssetPreloader.shared().sound(SOUNDS_PATH + filename);
+    }
+
+    /**
+     * Clip once it is loaded, with the current volume applied; null if it failed
+     */
+    private static Clip getClip(Future<Clip> future) {
+        Clip clip = AssetPreloader.await(future);
+        setClipVolume(clip, volume);
+        return clip;
     }
 
     private static void setClipVolume(Clip clip, float volume) {
@@ -68,19 +64,26 @@ public class Sound {
     public static void setVolume(float newVolume) {
         volume = Math.max(0.0f, Math.min(1.0f, newVolume)); // Clamp between 0 and 1
 
-        // Update volume for all clips
-        setClipVolume(clickClip, volume);
-        setClipVolume(badMoveClip, volume);
-        setClipVolume(winClip, volume);
-        setClipVolume(failClip, volume);
-        setClipVolume(menuMusicClip, volume);
+        // Update volume for clips already loaded, the others get it on first play
+        updateVolume(clickClip);
+        updateVolume(badMoveClip);
+        updateVolume(winClip);
+        updateVolume(failClip);
+        updateVolume(menuMusicClip);
+    }
+
+    private static void updateVolume(Future<Clip> future) {
+        if (future.isDone()) {
+            setClipVolume(AssetPreloader.await(future), volume);
+        }
     }
 
     public static float getVolume() {
         return volume;
     }
 
-    private static void playClip(Clip clip) {
+    private static void playClip(Future<Clip> future) {
+        Clip clip = getClip(future);
         if (clip != null) {
             if (clip.isRunning()) {
                 clip.stop();
@@ -109,16 +112,19 @@ public class Sound {
     }
 
     public static void playMenuMusic() {
-        if (menuMusicClip != null) {
-            menuMusicClip.setFramePosition(0);
-            menuMusicClip.loop(Clip.LOOP_CONTINUOUSLY);
-            menuMusicClip.start();
+        Clip clip = getClip(menuMusicClip);
+        if (clip != null) {
+            clip.setFramePosition(0);
+            clip.loop(Clip.LOOP_CONTINUOUSLY);
+            clip.start();
         }
     }
 
     public static void stopMenuMusic() {
-        if (menuMusicClip != null && menuMusicClip.isRunning()) {
-            menuMusicClip.stop();
+        if (!menuMusicClip.isDone()) return; // Not playing yet
+        Clip clip = AssetPreloader.await(menuMusicClip);
+        if (clip != null && clip.isRunning()) {
+            clip.stop();
         }
     }
 }
\ No newline at end of file